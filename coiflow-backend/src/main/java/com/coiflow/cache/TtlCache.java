@@ -0,0 +1,115 @@
+package com.coiflow.cache;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Small in-memory cache with a per-entry time-to-live and a hard size bound.
+ * When full, expired entries are purged first, then the entries closest to expiry are evicted.
+ */
+public class TtlCache<K, V> {
+
+    private final int maxSize;
+    private final long defaultTtlNanos;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public TtlCache(int maxSize, Duration defaultTtl) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize doit etre positif");
+        }
+        this.maxSize = maxSize;
+        this.defaultTtlNanos = defaultTtl.toNanos();
+    }
+
+    public V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            entries.remove(key, entry);
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.value;
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = getIfPresent(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, defaultTtlNanos);
+    }
+
+    public void put(K key, V value, Duration ttl) {
+        put(key, value, ttl.toNanos());
+    }
+
+    private void put(K key, V value, long ttlNanos) {
+        if (ttlNanos <= 0) return;
+        long now = System.nanoTime();
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            evict(now);
+        }
+        entries.put(key, new Entry<>(value, now + ttlNanos));
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateIf(Predicate<? super K> predicate) {
+        entries.keySet().removeIf(predicate);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    private void evict(long now) {
+        entries.values().removeIf(e -> e.isExpired(now));
+        int overflow = entries.size() - maxSize + 1;
+        if (overflow <= 0) return;
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().expiresAtNanos))
+                .limit(overflow)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(entries::remove);
+    }
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.coiflow.config;
+
+import com.coiflow.security.TenantAwareTaskDecorator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Runs the independent reads of the dashboard overview in parallel.
+     * Each task borrows its own connection, so keep the pool below the datasource pool size.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor dashboardExecutor(
+            @Value("${dashboard.overview.pool-size:6}") int poolSize,
+            @Value("${dashboard.overview.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setTaskDecorator(new TenantAwareTaskDecorator());
+        return executor;
+    }
+
+    /**
+     * Runs commission recalculation jobs. Each running job holds two connections
+     * (the streaming cursor and the chunk writer).
+     */
+    @Bean
+    public ThreadPoolTaskExecutor commissionJobExecutor(
+            @Value("${commission.recalculation.pool-size:1}") int poolSize,
+            @Value("${commission.recalculation.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("commission-job-");
+        return executor;
+    }
+
+    /**
+     * Runs BCrypt for logins off the request threads. Sized to the CPU count by default:
+     * hashing is CPU-bound, more threads only add contention.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashExecutor(
+            @Value("${auth.password-hash.pool-size:0}") int poolSize,
+            @Value("${auth.password-hash.queue-capacity:50}") int queueCapacity) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        return executor;
+    }
+}
@@ -3,8 +3,11 @@ package com.coiflow.controller.auth;
 import com.coiflow.dto.auth.AuthResponse;
 import com.coiflow.dto.auth.LoginRequest;
 import com.coiflow.model.user.Utilisateur;
+import com.coiflow.security.jwt.JwtAuthenticationFilter;
+import com.coiflow.security.jwt.VerifiedToken;
 import com.coiflow.service.auth.AuthService;
 import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -22,9 +25,10 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(
             @Valid @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest,
             HttpServletResponse response) {
 
-        AuthService.AuthResult result = authService.login(request);
+        AuthService.AuthResult result = authService.login(request, httpRequest.getRemoteAddr());
 
         addCookie(response, "access_token", result.accessToken(), 15 * 60);
         addCookie(response, "refresh_token", result.refreshToken(), 7 * 24 * 60 * 60);
@@ -48,9 +52,11 @@ public class AuthController {
     @PostMapping("/logout")
     public ResponseEntity<Void> logout(
             @AuthenticationPrincipal Utilisateur user,
+            @RequestAttribute(name = JwtAuthenticationFilter.VERIFIED_TOKEN_ATTRIBUTE, required = false)
+            VerifiedToken accessToken,
             HttpServletResponse response) {
 
-        authService.logout(user.getId());
+        authService.logout(user.getId(), accessToken);
 
         deleteCookie(response, "access_token");
         deleteCookie(response, "refresh_token");
@@ -0,0 +1,22 @@
+package com.coiflow.controller.auth;
+
+import com.coiflow.dto.auth.AuthMetricsResponse;
+import com.coiflow.service.auth.AuthService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/auth")
+@RequiredArgsConstructor
+public class AuthMetricsController {
+
+    private final AuthService authService;
+
+    @GetMapping("/metrics")
+    public ResponseEntity<AuthMetricsResponse> getMetrics() {
+        return ResponseEntity.ok(authService.getMetrics());
+    }
+}
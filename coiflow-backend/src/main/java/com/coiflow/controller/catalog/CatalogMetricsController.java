@@ -0,0 +1,22 @@
+package com.coiflow.controller.catalog;
+
+import com.coiflow.service.catalog.ServiceCatalogCache;
+import com.coiflow.service.catalog.ServiceCatalogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/catalog")
+@RequiredArgsConstructor
+public class CatalogMetricsController {
+
+    private final ServiceCatalogService serviceCatalogService;
+
+    @GetMapping("/metrics")
+    public ResponseEntity<ServiceCatalogCache.Stats> getMetrics() {
+        return ResponseEntity.ok(serviceCatalogService.getCacheMetrics());
+    }
+}
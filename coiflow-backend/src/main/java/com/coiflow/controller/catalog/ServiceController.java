@@ -1,5 +1,6 @@
 package com.coiflow.controller.catalog;
 
+import com.coiflow.dto.service.BulkUpdateServicesRequest;
 import com.coiflow.dto.service.CreateServiceRequest;
 import com.coiflow.dto.service.ServiceResponse;
 import com.coiflow.dto.service.UpdateServiceRequest;
@@ -29,6 +30,11 @@ public class ServiceController {
         return ResponseEntity.status(HttpStatus.CREATED).body(serviceCatalogService.createService(request));
     }
 
+    @PatchMapping
+    public ResponseEntity<List<ServiceResponse>> bulkUpdate(@Valid @RequestBody BulkUpdateServicesRequest request) {
+        return ResponseEntity.ok(serviceCatalogService.bulkUpdate(request));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ServiceResponse> update(
             @PathVariable String id,
@@ -1,15 +1,28 @@
 package com.coiflow.controller.client;
 
+import com.coiflow.dto.client.ClientImportResponse;
+import com.coiflow.dto.client.ClientMergeSuggestionResponse;
+import com.coiflow.dto.client.ClientPageResponse;
 import com.coiflow.dto.client.ClientResponse;
 import com.coiflow.dto.client.CreateClientRequest;
 import com.coiflow.dto.client.UpdateClientRequest;
+import com.coiflow.model.enums.ClientSort;
+import com.coiflow.service.client.ClientDeduplicationService;
+import com.coiflow.service.client.ClientDirectory;
+import com.coiflow.service.client.ClientImportService;
 import com.coiflow.service.client.ClientService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -18,11 +31,33 @@ import java.util.List;
 public class ClientController {
 
     private final ClientService clientService;
+    private final ClientImportService clientImportService;
+    private final ClientDeduplicationService clientDeduplicationService;
 
     @GetMapping
     public ResponseEntity<List<ClientResponse>> getAll(
-            @RequestParam(required = false) String search) {
-        return ResponseEntity.ok(clientService.getClients(search));
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(clientService.getClients(search, limit));
+    }
+
+    @GetMapping("/directory")
+    public ResponseEntity<ClientPageResponse> getDirectory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(required = false) Integer minVisits,
+            @RequestParam(required = false) BigDecimal minSpend,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate lastVisitFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate lastVisitTo) {
+        ClientDirectory.Filter filter = new ClientDirectory.Filter(minVisits, minSpend, lastVisitFrom, lastVisitTo);
+        return ResponseEntity.ok(clientService.getDirectory(cursor, size, ClientSort.fromParam(sort), filter));
+    }
+
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<Void> rebuildStats() {
+        clientService.rebuildStats();
+        return ResponseEntity.noContent().build();
     }
 
     @PostMapping
@@ -30,6 +65,38 @@ public class ClientController {
         return ResponseEntity.status(HttpStatus.CREATED).body(clientService.createClient(request));
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ClientImportResponse> importCsv(@RequestParam("file") MultipartFile file) throws IOException {
+        return ResponseEntity.ok(clientImportService.importCsv(file.getInputStream()));
+    }
+
+    @GetMapping("/import/progress")
+    public ResponseEntity<ClientImportResponse> getImportProgress() {
+        return ResponseEntity.ok(clientImportService.getProgress());
+    }
+
+    @GetMapping("/duplicates")
+    public ResponseEntity<List<ClientMergeSuggestionResponse>> getDuplicates() {
+        return ResponseEntity.ok(clientDeduplicationService.getSuggestions());
+    }
+
+    @PostMapping("/duplicates/scan")
+    public ResponseEntity<List<ClientMergeSuggestionResponse>> scanDuplicates() {
+        return ResponseEntity.ok(clientDeduplicationService.scan());
+    }
+
+    @PostMapping("/duplicates/{id}/merge")
+    public ResponseEntity<Void> mergeDuplicate(@PathVariable String id) {
+        clientDeduplicationService.merge(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/duplicates/{id}/dismiss")
+    public ResponseEntity<Void> dismissDuplicate(@PathVariable String id) {
+        clientDeduplicationService.dismiss(id);
+        return ResponseEntity.noContent().build();
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ClientResponse> update(
             @PathVariable String id,
@@ -1,9 +1,16 @@
 package com.coiflow.controller.commission;
 
+import com.coiflow.dto.commission.ClosePeriodRequest;
+import com.coiflow.dto.commission.CommissionRecalculationResponse;
 import com.coiflow.dto.commission.CommissionResponse;
+import com.coiflow.dto.commission.CommissionStatementResponse;
+import com.coiflow.dto.commission.RecalculateCommissionsRequest;
+import com.coiflow.service.commission.CommissionRecalculationService;
 import com.coiflow.service.commission.CommissionService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -16,6 +23,7 @@ import java.util.List;
 public class CommissionController {
 
     private final CommissionService commissionService;
+    private final CommissionRecalculationService recalculationService;
 
     @GetMapping
     public ResponseEntity<List<CommissionResponse>> getAll(
@@ -24,4 +32,38 @@ public class CommissionController {
             @RequestParam(required = false) String barberId) {
         return ResponseEntity.ok(commissionService.getAll(start, end, barberId));
     }
+
+    @GetMapping("/statements")
+    public ResponseEntity<List<CommissionStatementResponse>> getStatements(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(required = false) String barberId) {
+        return ResponseEntity.ok(commissionService.getStatements(start, end, barberId));
+    }
+
+    @PostMapping("/periods/close")
+    public ResponseEntity<List<CommissionStatementResponse>> closePeriod(@Valid @RequestBody ClosePeriodRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(commissionService.closePeriod(request));
+    }
+
+    @GetMapping("/recalculations")
+    public ResponseEntity<List<CommissionRecalculationResponse>> getRecalculations() {
+        return ResponseEntity.ok(recalculationService.getAll());
+    }
+
+    @GetMapping("/recalculations/{id}")
+    public ResponseEntity<CommissionRecalculationResponse> getRecalculation(@PathVariable String id) {
+        return ResponseEntity.ok(recalculationService.getById(id));
+    }
+
+    @PostMapping("/recalculations")
+    public ResponseEntity<CommissionRecalculationResponse> startRecalculation(
+            @Valid @RequestBody RecalculateCommissionsRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(recalculationService.start(request));
+    }
+
+    @PostMapping("/recalculations/{id}/resume")
+    public ResponseEntity<CommissionRecalculationResponse> resumeRecalculation(@PathVariable String id) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(recalculationService.resume(id));
+    }
 }
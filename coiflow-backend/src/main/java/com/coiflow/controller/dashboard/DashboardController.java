@@ -1,8 +1,13 @@
 package com.coiflow.controller.dashboard;
 
 import com.coiflow.dto.dashboard.DailyRevenueResponse;
+import com.coiflow.dto.dashboard.DashboardOverviewResponse;
 import com.coiflow.dto.dashboard.DashboardStatsResponse;
+import com.coiflow.dto.dashboard.LeaderboardEntryResponse;
+import com.coiflow.model.enums.Granularity;
+import com.coiflow.model.enums.LeaderboardMetric;
 import com.coiflow.service.dashboard.DashboardService;
+import com.coiflow.service.dashboard.LeaderboardService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -17,16 +22,41 @@ import java.util.List;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final LeaderboardService leaderboardService;
 
     @GetMapping("/stats")
     public ResponseEntity<DashboardStatsResponse> getStats() {
         return ResponseEntity.ok(dashboardService.getStats());
     }
 
+    @GetMapping("/overview")
+    public ResponseEntity<DashboardOverviewResponse> getOverview() {
+        return ResponseEntity.ok(dashboardService.getOverview());
+    }
+
     @GetMapping("/revenue")
     public ResponseEntity<List<DailyRevenueResponse>> getRevenue(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
-        return ResponseEntity.ok(dashboardService.getRevenue(start, end));
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(defaultValue = "day") String granularity) {
+        return ResponseEntity.ok(dashboardService.getRevenue(start, end, Granularity.fromParam(granularity)));
+    }
+
+    @GetMapping("/leaderboard/barbers")
+    public ResponseEntity<List<LeaderboardEntryResponse>> getBarberLeaderboard(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(defaultValue = "REVENUE") LeaderboardMetric metric,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(leaderboardService.getBarberLeaderboard(start, end, metric, limit));
+    }
+
+    @GetMapping("/leaderboard/services")
+    public ResponseEntity<List<LeaderboardEntryResponse>> getServiceLeaderboard(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(defaultValue = "REVENUE") LeaderboardMetric metric,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(leaderboardService.getServiceLeaderboard(start, end, metric, limit));
     }
 }
@@ -0,0 +1,26 @@
+package com.coiflow.controller.outbox;
+
+import com.coiflow.service.outbox.OutboxAdminService;
+import com.coiflow.service.outbox.OutboxDispatcher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/outbox")
+@RequiredArgsConstructor
+public class OutboxAdminController {
+
+    private final OutboxAdminService outboxAdminService;
+
+    @GetMapping("/metrics")
+    public ResponseEntity<OutboxDispatcher.Stats> getMetrics() {
+        return ResponseEntity.ok(outboxAdminService.getMetrics());
+    }
+
+    @PostMapping("/failed/replay")
+    public ResponseEntity<OutboxDispatcher.Stats> replayFailed(@RequestParam(required = false) String salonId) {
+        outboxAdminService.replayFailed(salonId);
+        return ResponseEntity.ok(outboxAdminService.getMetrics());
+    }
+}
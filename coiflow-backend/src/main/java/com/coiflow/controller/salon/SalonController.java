@@ -1,6 +1,7 @@
 package com.coiflow.controller.salon;
 
 import com.coiflow.dto.salon.CreateSalonRequest;
+import com.coiflow.dto.salon.SalonPageResponse;
 import com.coiflow.dto.salon.SalonResponse;
 import com.coiflow.dto.salon.UpdateSalonRequest;
 import com.coiflow.service.salon.SalonService;
@@ -10,8 +11,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/admin/salons")
 @RequiredArgsConstructor
@@ -25,8 +24,12 @@ public class SalonController {
     }
 
     @GetMapping
-    public ResponseEntity<List<SalonResponse>> getAll() {
-        return ResponseEntity.ok(salonService.getAllSalons());
+    public ResponseEntity<SalonPageResponse> getAll(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(salonService.getAllSalons(search, active, page, size));
     }
 
     @PutMapping("/{id}")
@@ -0,0 +1,19 @@
+package com.coiflow.dto.auth;
+
+import com.coiflow.security.LoginRateLimiter;
+import com.coiflow.security.PasswordHasher;
+import com.coiflow.security.TokenDenylist;
+import com.coiflow.service.auth.RefreshTokenPurgeJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class AuthMetricsResponse {
+    private LoginRateLimiter.Stats loginLimiter;
+    private PasswordHasher.Stats passwordHashing;
+    private RefreshTokenPurgeJob.Stats refreshTokenPurge;
+    private TokenDenylist.Stats tokenDenylist;
+}
@@ -0,0 +1,13 @@
+package com.coiflow.dto.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class ClientImportError {
+    private long line;
+    private String message;
+}
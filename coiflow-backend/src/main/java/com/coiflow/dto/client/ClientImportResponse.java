@@ -0,0 +1,21 @@
+package com.coiflow.dto.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class ClientImportResponse {
+    private boolean running;
+    private long processedRows;
+    private long importedCount;
+    private long duplicateCount;
+    private long rejectedCount;
+    private List<ClientImportError> errors;
+    private boolean errorsTruncated;
+    private String startedAt;
+}
@@ -0,0 +1,22 @@
+package com.coiflow.dto.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class ClientMergeSuggestionResponse {
+    private String id;
+    private BigDecimal score;
+    private List<String> reasons;
+    private String createdAt;
+    /** Client kept by the merge. */
+    private ClientResponse client;
+    /** Client merged into it and deleted. */
+    private ClientResponse duplicate;
+}
@@ -0,0 +1,16 @@
+package com.coiflow.dto.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class ClientPageResponse {
+    private List<ClientResponse> items;
+    /** Opaque cursor of the next page, null on the last one. */
+    private String nextCursor;
+}
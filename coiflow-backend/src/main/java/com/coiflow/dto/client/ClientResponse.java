@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
+import java.math.BigDecimal;
+
 @Data
 @Builder
 @AllArgsConstructor
@@ -15,4 +17,7 @@ public class ClientResponse {
     private String email;
     private String notes;
     private String createdAt;
+    private String lastVisitAt;
+    private int visitCount;
+    private BigDecimal lifetimeSpend;
 }
@@ -0,0 +1,16 @@
+package com.coiflow.dto.commission;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class ClosePeriodRequest {
+
+    @NotNull(message = "La date de debut est obligatoire")
+    private LocalDate start;
+
+    @NotNull(message = "La date de fin est obligatoire")
+    private LocalDate end;
+}
@@ -0,0 +1,28 @@
+package com.coiflow.dto.commission;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class CommissionRecalculationResponse {
+    private String id;
+    private String barberId;
+    private String barberName;
+    private String periodStart;
+    private String periodEnd;
+    private BigDecimal rate;
+    private String status;
+    private long totalCount;
+    private long processedCount;
+    private long updatedCount;
+    private double progressPercent;
+    private double rowsPerSecond;
+    private String lastError;
+    private String startedAt;
+    private String finishedAt;
+}
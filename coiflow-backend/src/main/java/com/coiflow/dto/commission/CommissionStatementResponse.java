@@ -0,0 +1,22 @@
+package com.coiflow.dto.commission;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class CommissionStatementResponse {
+    private String id;
+    private String barberId;
+    private String barberName;
+    private String periodStart;
+    private String periodEnd;
+    private BigDecimal totalAmount;
+    private int commissionCount;
+    private boolean closed;
+    private String closedAt;
+}
@@ -0,0 +1,20 @@
+package com.coiflow.dto.commission;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class RecalculateCommissionsRequest {
+
+    @NotBlank(message = "Le coiffeur est obligatoire")
+    private String barberId;
+
+    @NotNull(message = "La date de debut est obligatoire")
+    private LocalDate start;
+
+    @NotNull(message = "La date de fin est obligatoire")
+    private LocalDate end;
+}
@@ -0,0 +1,17 @@
+package com.coiflow.dto.dashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class DashboardOverviewResponse {
+    private DashboardStatsResponse stats;
+    private List<HourlyRevenueResponse> revenueCurveToday;
+    private long toCashCount;
+    private List<UpcomingAppointmentResponse> upcomingAppointments;
+}
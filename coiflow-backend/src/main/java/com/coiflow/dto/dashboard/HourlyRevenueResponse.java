@@ -0,0 +1,17 @@
+package com.coiflow.dto.dashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class HourlyRevenueResponse {
+    private int hour;
+    private BigDecimal revenue;
+    private BigDecimal cumulativeRevenue;
+    private int transactionCount;
+}
@@ -0,0 +1,18 @@
+package com.coiflow.dto.dashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class LeaderboardEntryResponse {
+    private int rank;
+    private String id;
+    private String name;
+    private BigDecimal revenue;
+    private long volume;
+}
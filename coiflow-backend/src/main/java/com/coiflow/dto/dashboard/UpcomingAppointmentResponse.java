@@ -0,0 +1,16 @@
+package com.coiflow.dto.dashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class UpcomingAppointmentResponse {
+    private String id;
+    private String startTime;
+    private String endTime;
+    private String barberName;
+    private String clientName;
+}
@@ -22,6 +22,9 @@ public class CreateSalonRequest {
     @Size(max = 100)
     private String email;
 
+    @Size(max = 50)
+    private String timeZone;
+
     @NotBlank(message = "Le prenom du gerant est requis")
     @Size(max = 50)
     private String managerFirstName;
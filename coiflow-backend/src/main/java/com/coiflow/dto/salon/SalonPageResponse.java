@@ -0,0 +1,18 @@
+package com.coiflow.dto.salon;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class SalonPageResponse {
+    private List<SalonResponse> items;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+}
@@ -14,6 +14,7 @@ public class SalonResponse {
     private String phone;
     private String email;
     private boolean active;
+    private String timeZone;
     private String managerId;
     private String managerName;
     private String createdAt;
@@ -21,4 +21,7 @@ public class UpdateSalonRequest {
     @Email(message = "Format d'email invalide")
     @Size(max = 100)
     private String email;
+
+    @Size(max = 50)
+    private String timeZone;
 }
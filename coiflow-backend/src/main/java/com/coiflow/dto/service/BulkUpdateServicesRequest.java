@@ -0,0 +1,39 @@
+package com.coiflow.dto.service;
+
+import com.coiflow.model.enums.PriceAdjustmentMode;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+public class BulkUpdateServicesRequest {
+
+    private static final BigDecimal MIN_PERCENTAGE = BigDecimal.valueOf(-100);
+    private static final BigDecimal MAX_PERCENTAGE = BigDecimal.valueOf(1000);
+
+    /** Services to change; all active services of the salon when empty. */
+    private List<String> serviceIds;
+
+    /** How priceChange applies: +/- percent of the current price, or +/- amount. */
+    private PriceAdjustmentMode priceMode;
+
+    /** Amounts stay within the DECIMAL(10,2) price column; percentages are also checked below. */
+    @Digits(integer = 8, fraction = 2, message = "La variation de prix est invalide")
+    private BigDecimal priceChange;
+
+    /** Minutes added to (or removed from) each duration. */
+    @Min(value = -480, message = "La variation de duree est trop grande")
+    @Max(value = 480, message = "La variation de duree est trop grande")
+    private Integer durationChange;
+
+    @AssertTrue(message = "La variation en pourcentage doit etre comprise entre -100 et 1000")
+    public boolean isPercentageInRange() {
+        return priceMode != PriceAdjustmentMode.PERCENTAGE || priceChange == null
+                || (priceChange.compareTo(MIN_PERCENTAGE) >= 0 && priceChange.compareTo(MAX_PERCENTAGE) <= 0);
+    }
+}
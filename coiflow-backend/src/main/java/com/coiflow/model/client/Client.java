@@ -7,6 +7,7 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
@@ -42,6 +43,17 @@ public class Client {
     @Column(length = 500)
     private String notes;
 
+    // Visit statistics: written only by set-based updates, never by entity saves
+    @Column(name = "last_visit_at", insertable = false, updatable = false)
+    private LocalDateTime lastVisitAt;
+
+    @Column(name = "visit_count", nullable = false, insertable = false, updatable = false)
+    private int visitCount;
+
+    @Column(name = "lifetime_spend", nullable = false, precision = 12, scale = 2, insertable = false, updatable = false)
+    @Builder.Default
+    private BigDecimal lifetimeSpend = BigDecimal.ZERO;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,56 @@
+package com.coiflow.model.client;
+
+import com.coiflow.model.enums.MergeSuggestionStatus;
+import com.coiflow.model.salon.Salon;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "client_merge_suggestions")
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClientMergeSuggestion {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "salon_id", nullable = false)
+    private Salon salon;
+
+    /** Client kept by a merge (the oldest of the pair). Plain ids: the duplicate is deleted by the merge. */
+    @Column(name = "client_id", nullable = false, length = 36)
+    private String clientId;
+
+    @Column(name = "duplicate_id", nullable = false, length = 36)
+    private String duplicateId;
+
+    @Column(nullable = false, precision = 4, scale = 3)
+    private BigDecimal score;
+
+    /** Comma-separated matching keys: PHONE, EMAIL, NAME. */
+    @Column(nullable = false, length = 100)
+    private String reasons;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private MergeSuggestionStatus status = MergeSuggestionStatus.PENDING;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "resolved_at")
+    private LocalDateTime resolvedAt;
+}
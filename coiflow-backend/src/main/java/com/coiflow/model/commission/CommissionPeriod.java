@@ -0,0 +1,47 @@
+package com.coiflow.model.commission;
+
+import com.coiflow.model.salon.Salon;
+import com.coiflow.model.user.Utilisateur;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A closed commission period of a salon; its per-barber totals are the matching statements.
+ */
+@Entity
+@Table(name = "commission_periods")
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CommissionPeriod {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "salon_id", nullable = false)
+    private Salon salon;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "period_end", nullable = false)
+    private LocalDate periodEnd;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "closed_by", nullable = false)
+    private Utilisateur closedBy;
+
+    @CreatedDate
+    @Column(name = "closed_at", nullable = false, updatable = false)
+    private LocalDateTime closedAt;
+}
@@ -0,0 +1,94 @@
+package com.coiflow.model.commission;
+
+import com.coiflow.model.enums.RecalculationStatus;
+import com.coiflow.model.salon.Salon;
+import com.coiflow.model.user.Utilisateur;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "commission_recalculations")
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CommissionRecalculation {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "salon_id", nullable = false)
+    private Salon salon;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "barber_id", nullable = false)
+    private Utilisateur barber;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "period_end", nullable = false)
+    private LocalDate periodEnd;
+
+    @Column(nullable = false, precision = 5, scale = 2)
+    private BigDecimal rate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RecalculationStatus status;
+
+    @Column(name = "total_count", nullable = false)
+    private long totalCount;
+
+    @Column(name = "processed_count", nullable = false)
+    private long processedCount;
+
+    @Column(name = "updated_count", nullable = false)
+    private long updatedCount;
+
+    /** Processed count when the current run started, for throughput. */
+    @Column(name = "resumed_from", nullable = false)
+    private long resumedFrom;
+
+    /** Last commission written, in (period_start, id) order: the job resumes after it. */
+    @Column(name = "checkpoint_date")
+    private LocalDate checkpointDate;
+
+    @Column(name = "checkpoint_id", length = 36)
+    private String checkpointId;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    /** Instance running (or about to run) the job; only it may advance the job. */
+    @Column(length = 36)
+    private String owner;
+
+    /** Refreshed by the owner while the job is active; a stale heartbeat means the owner is gone. */
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "created_by", nullable = false)
+    private Utilisateur createdBy;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
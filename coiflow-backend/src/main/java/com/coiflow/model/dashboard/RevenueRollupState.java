@@ -0,0 +1,27 @@
+package com.coiflow.model.dashboard;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-salon lock row for the revenue rollups. {@code builtAt} is null while the salon's
+ * rollups still have to be rebuilt from its transactions.
+ */
+@Entity
+@Table(name = "revenue_rollup_states")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevenueRollupState {
+
+    @Id
+    @Column(name = "salon_id", length = 36)
+    private String salonId;
+
+    @Column(name = "built_at")
+    private LocalDateTime builtAt;
+}
@@ -0,0 +1,17 @@
+package com.coiflow.model.enums;
+
+public enum ClientSort {
+    NAME,
+    LAST_VISIT,
+    VISIT_COUNT,
+    LIFETIME_SPEND;
+
+    public static ClientSort fromParam(String value) {
+        try {
+            return ClientSort.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Tri invalide: " + value
+                    + " (name, last_visit, visit_count ou lifetime_spend)");
+        }
+    }
+}
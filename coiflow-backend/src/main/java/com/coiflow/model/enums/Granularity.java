@@ -0,0 +1,15 @@
+package com.coiflow.model.enums;
+
+public enum Granularity {
+    DAY,
+    WEEK,
+    MONTH;
+
+    public static Granularity fromParam(String value) {
+        try {
+            return Granularity.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Granularite invalide: " + value + " (day, week ou month)");
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.coiflow.model.enums;
+
+public enum LeaderboardMetric {
+    REVENUE,
+    VOLUME
+}
@@ -0,0 +1,7 @@
+package com.coiflow.model.enums;
+
+public enum MergeSuggestionStatus {
+    PENDING,
+    MERGED,
+    DISMISSED
+}
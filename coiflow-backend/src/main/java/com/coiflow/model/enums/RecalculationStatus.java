@@ -0,0 +1,8 @@
+package com.coiflow.model.enums;
+
+public enum RecalculationStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
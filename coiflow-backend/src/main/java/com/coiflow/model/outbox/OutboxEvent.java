@@ -0,0 +1,59 @@
+package com.coiflow.model.outbox;
+
+import com.coiflow.model.enums.OutboxEventType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_events")
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "salon_id", nullable = false, length = 36)
+    private String salonId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 40)
+    private OutboxEventType eventType;
+
+    @Column(name = "aggregate_id", nullable = false, length = 36)
+    private String aggregateId;
+
+    /** JSON facts fixed when the event was written, if the handler needs more than the aggregate. */
+    @Column(length = 1000)
+    private String payload;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    /** Not retried before this time; null when the event has not failed yet. */
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    /** Set once the event has used up its attempts; it is then only retried by a replay. */
+    @Column(name = "failed_at")
+    private LocalDateTime failedAt;
+}
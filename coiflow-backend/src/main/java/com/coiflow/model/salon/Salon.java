@@ -37,6 +37,10 @@ public class Salon {
     @Column(nullable = false)
     private boolean active = true;
 
+    @Column(name = "time_zone", nullable = false, length = 50)
+    @Builder.Default
+    private String timeZone = "Africa/Algiers";
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
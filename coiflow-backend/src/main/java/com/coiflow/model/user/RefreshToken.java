@@ -25,8 +25,9 @@ public class RefreshToken {
     @JoinColumn(name = "user_id", nullable = false)
     private Utilisateur user;
 
-    @Column(nullable = false, unique = true, length = 1000)
-    private String token;
+    /** SHA-256 of the refresh JWT (hex): the token itself is never stored. */
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
 
     @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
@@ -1,10 +1,11 @@
 package com.coiflow.repository.appointment;
 
 import com.coiflow.model.appointment.Appointment;
-import com.coiflow.model.transaction.Transaction;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -46,4 +47,57 @@ public interface AppointmentRepository extends JpaRepository<Appointment, String
             @Param("salonId") String salonId,
             @Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end);
+
+    @Query("""
+        SELECT COUNT(a) FROM Appointment a
+        WHERE a.salon.id = :salonId
+          AND a.status = com.coiflow.model.enums.AppointmentStatus.COMPLETED
+          AND NOT EXISTS (SELECT t FROM Transaction t WHERE t.appointment.id = a.id)
+          AND a.startTime >= :start
+          AND a.startTime < :end
+        """)
+    long countToCash(
+            @Param("salonId") String salonId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    @Query("""
+        SELECT a.status AS status, COUNT(a) AS total
+        FROM Appointment a
+        WHERE a.salon.id = :salonId
+          AND a.startTime >= :start
+          AND a.startTime < :end
+        GROUP BY a.status
+        """)
+    List<StatusCount> countByStatus(
+            @Param("salonId") String salonId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    @Query("""
+        SELECT a.id AS id,
+               a.startTime AS startTime,
+               a.endTime AS endTime,
+               CONCAT(b.firstName, ' ', b.lastName) AS barberName,
+               CONCAT(c.lastName, ' ', c.firstName) AS clientName
+        FROM Appointment a
+          JOIN a.barber b
+          LEFT JOIN a.client c
+        WHERE a.salon.id = :salonId
+          AND a.status = com.coiflow.model.enums.AppointmentStatus.SCHEDULED
+          AND a.startTime >= :from
+        ORDER BY a.startTime
+        """)
+    List<UpcomingAppointmentRow> findUpcoming(
+            @Param("salonId") String salonId,
+            @Param("from") LocalDateTime from,
+            Pageable pageable);
+
+    /** Moves every appointment of a merged client to the kept one; served by idx_appointment_client. */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+        UPDATE appointments SET client_id = :toClientId, version = version + 1, updated_at = CURRENT_TIMESTAMP
+        WHERE client_id = :fromClientId
+        """)
+    int reassignClient(@Param("fromClientId") String fromClientId, @Param("toClientId") String toClientId);
 }
@@ -0,0 +1,8 @@
+package com.coiflow.repository.appointment;
+
+import com.coiflow.model.enums.AppointmentStatus;
+
+public interface StatusCount {
+    AppointmentStatus getStatus();
+    long getTotal();
+}
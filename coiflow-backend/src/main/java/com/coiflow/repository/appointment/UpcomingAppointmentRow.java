@@ -0,0 +1,11 @@
+package com.coiflow.repository.appointment;
+
+import java.time.LocalDateTime;
+
+public interface UpcomingAppointmentRow {
+    String getId();
+    LocalDateTime getStartTime();
+    LocalDateTime getEndTime();
+    String getBarberName();
+    String getClientName();
+}
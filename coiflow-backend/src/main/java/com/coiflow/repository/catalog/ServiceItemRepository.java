@@ -2,7 +2,13 @@ package com.coiflow.repository.catalog;
 
 import com.coiflow.model.catalog.ServiceItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +19,49 @@ public interface ServiceItemRepository extends JpaRepository<ServiceItem, String
     Optional<ServiceItem> findByIdAndSalon_Id(String id, String salonId);
 
     boolean existsBySalon_IdAndNameIgnoreCase(String salonId, String name);
+
+    /** Salons with a service created, changed or deactivated since the given time. */
+    @Query("SELECT DISTINCT s.salon.id FROM ServiceItem s WHERE s.updatedAt >= :since")
+    List<String> findSalonIdsChangedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Services a bulk change would push outside the per-service bounds: price from 0.01 to the
+     * DECIMAL(10,2) maximum, duration from 5 to 480 minutes.
+     */
+    @Query("""
+        SELECT COUNT(s) FROM ServiceItem s
+        WHERE s.salon.id = :salonId AND s.active = true
+          AND (:allServices = true OR s.id IN :ids)
+          AND (ROUND(s.price * :factor + :delta, 2) < 0.01
+               OR ROUND(s.price * :factor + :delta, 2) > 99999999.99
+               OR s.durationMinutes + :durationDelta < 5
+               OR s.durationMinutes + :durationDelta > 480)
+        """)
+    long countOutOfBounds(@Param("salonId") String salonId,
+                          @Param("allServices") boolean allServices,
+                          @Param("ids") Collection<String> ids,
+                          @Param("factor") BigDecimal factor,
+                          @Param("delta") BigDecimal delta,
+                          @Param("durationDelta") int durationDelta);
+
+    /**
+     * Applies price = round(price * factor + delta, 2) and duration + durationDelta to the salon's
+     * active services in one statement. Appointment lines keep their own priceApplied.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        UPDATE ServiceItem s
+        SET s.price = ROUND(s.price * :factor + :delta, 2),
+            s.durationMinutes = s.durationMinutes + :durationDelta,
+            s.updatedAt = :now
+        WHERE s.salon.id = :salonId AND s.active = true
+          AND (:allServices = true OR s.id IN :ids)
+        """)
+    int bulkAdjust(@Param("salonId") String salonId,
+                   @Param("allServices") boolean allServices,
+                   @Param("ids") Collection<String> ids,
+                   @Param("factor") BigDecimal factor,
+                   @Param("delta") BigDecimal delta,
+                   @Param("durationDelta") int durationDelta,
+                   @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,54 @@
+package com.coiflow.repository.client;
+
+import com.coiflow.model.client.ClientMergeSuggestion;
+import com.coiflow.model.enums.MergeSuggestionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ClientMergeSuggestionRepository extends JpaRepository<ClientMergeSuggestion, String> {
+
+    @Query("SELECT s FROM ClientMergeSuggestion s WHERE s.id = :id AND s.salon.id = :salonId")
+    Optional<ClientMergeSuggestion> findByIdAndSalonId(@Param("id") String id, @Param("salonId") String salonId);
+
+    /** Pending suggestions with both clients, best score first. */
+    @Query("""
+        SELECT s.id AS id, s.score AS score, s.reasons AS reasons, s.createdAt AS createdAt,
+               c.id AS clientId, c.firstName AS clientFirstName, c.lastName AS clientLastName,
+               c.phone AS clientPhone, c.email AS clientEmail,
+               d.id AS duplicateId, d.firstName AS duplicateFirstName, d.lastName AS duplicateLastName,
+               d.phone AS duplicatePhone, d.email AS duplicateEmail
+        FROM ClientMergeSuggestion s
+        JOIN Client c ON c.id = s.clientId
+        JOIN Client d ON d.id = s.duplicateId
+        WHERE s.salon.id = :salonId
+          AND s.status = com.coiflow.model.enums.MergeSuggestionStatus.PENDING
+        ORDER BY s.score DESC, s.createdAt
+        """)
+    List<MergeSuggestionRow> findPendingRows(@Param("salonId") String salonId);
+
+    @Query("SELECT s FROM ClientMergeSuggestion s WHERE s.salon.id = :salonId AND s.status = :status")
+    List<ClientMergeSuggestion> findBySalonIdAndStatus(@Param("salonId") String salonId,
+                                                       @Param("status") MergeSuggestionStatus status);
+
+    @Modifying
+    @Query("""
+        DELETE FROM ClientMergeSuggestion s
+        WHERE s.salon.id = :salonId
+          AND s.status = com.coiflow.model.enums.MergeSuggestionStatus.PENDING
+        """)
+    int deletePendingBySalonId(@Param("salonId") String salonId);
+
+    /** Pending suggestions that still name a client, after it was merged away. */
+    @Modifying
+    @Query("""
+        DELETE FROM ClientMergeSuggestion s
+        WHERE s.status = com.coiflow.model.enums.MergeSuggestionStatus.PENDING
+          AND (s.clientId = :clientId OR s.duplicateId = :clientId)
+        """)
+    int deletePendingInvolving(@Param("clientId") String clientId);
+}
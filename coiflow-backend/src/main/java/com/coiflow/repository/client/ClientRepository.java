@@ -1,16 +1,215 @@
 package com.coiflow.repository.client;
 
 import com.coiflow.model.client.Client;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface ClientRepository extends JpaRepository<Client, String> {
 
-    List<Client> findBySalon_Id(String salonId);
+    /**
+     * Directory projection of a salon's clients, with the optional visit-statistics filters
+     * (a null parameter disables its filter). Each sort below has a first-page query and a
+     * page-after-key query, both range scans on the sort's (salon_id, key, id) index.
+     */
+    String DIRECTORY_ROWS = """
+        SELECT c.id AS id, c.firstName AS firstName, c.lastName AS lastName, c.phone AS phone,
+               c.email AS email, c.notes AS notes, c.createdAt AS createdAt,
+               c.lastVisitAt AS lastVisitAt, c.visitCount AS visitCount, c.lifetimeSpend AS lifetimeSpend
+        FROM Client c
+        WHERE c.salon.id = :salonId
+          AND (:minVisits IS NULL OR c.visitCount >= :minVisits)
+          AND (:minSpend IS NULL OR c.lifetimeSpend >= :minSpend)
+          AND (:visitedFrom IS NULL OR c.lastVisitAt >= :visitedFrom)
+          AND (:visitedBefore IS NULL OR c.lastVisitAt < :visitedBefore)
+        """;
 
-    List<Client> findBySalon_IdAndLastNameContainingIgnoreCase(String salonId, String lastName);
+    /** First directory page by name; served by idx_client_salon_name. */
+    @Query(DIRECTORY_ROWS + """
+        ORDER BY c.lastName, c.firstName, c.id
+        """)
+    List<ClientRow> findDirectoryFirstPageByName(
+            @Param("salonId") String salonId,
+            @Param("minVisits") Integer minVisits,
+            @Param("minSpend") BigDecimal minSpend,
+            @Param("visitedFrom") LocalDateTime visitedFrom,
+            @Param("visitedBefore") LocalDateTime visitedBefore,
+            Pageable pageable);
+
+    /** Directory page after the (lastName, firstName, id) key of the previous page's last row. */
+    @Query(DIRECTORY_ROWS + """
+          AND (c.lastName > :lastName
+               OR (c.lastName = :lastName AND c.firstName > :firstName)
+               OR (c.lastName = :lastName AND c.firstName = :firstName AND c.id > :id))
+        ORDER BY c.lastName, c.firstName, c.id
+        """)
+    List<ClientRow> findDirectoryPageByNameAfter(
+            @Param("salonId") String salonId,
+            @Param("minVisits") Integer minVisits,
+            @Param("minSpend") BigDecimal minSpend,
+            @Param("visitedFrom") LocalDateTime visitedFrom,
+            @Param("visitedBefore") LocalDateTime visitedBefore,
+            @Param("lastName") String lastName,
+            @Param("firstName") String firstName,
+            @Param("id") String id,
+            Pageable pageable);
+
+    /** First directory page, most recent visit first; clients never seen are left out. */
+    @Query(DIRECTORY_ROWS + """
+          AND c.lastVisitAt IS NOT NULL
+        ORDER BY c.lastVisitAt DESC, c.id DESC
+        """)
+    List<ClientRow> findDirectoryFirstPageByLastVisit(
+            @Param("salonId") String salonId,
+            @Param("minVisits") Integer minVisits,
+            @Param("minSpend") BigDecimal minSpend,
+            @Param("visitedFrom") LocalDateTime visitedFrom,
+            @Param("visitedBefore") LocalDateTime visitedBefore,
+            Pageable pageable);
+
+    /** Directory page after the (lastVisitAt, id) key of the previous page's last row. */
+    @Query(DIRECTORY_ROWS + """
+          AND c.lastVisitAt IS NOT NULL
+          AND (c.lastVisitAt < :lastVisitAt OR (c.lastVisitAt = :lastVisitAt AND c.id < :id))
+        ORDER BY c.lastVisitAt DESC, c.id DESC
+        """)
+    List<ClientRow> findDirectoryPageByLastVisitAfter(
+            @Param("salonId") String salonId,
+            @Param("minVisits") Integer minVisits,
+            @Param("minSpend") BigDecimal minSpend,
+            @Param("visitedFrom") LocalDateTime visitedFrom,
+            @Param("visitedBefore") LocalDateTime visitedBefore,
+            @Param("lastVisitAt") LocalDateTime lastVisitAt,
+            @Param("id") String id,
+            Pageable pageable);
+
+    /** First directory page, most visits first. */
+    @Query(DIRECTORY_ROWS + """
+        ORDER BY c.visitCount DESC, c.id DESC
+        """)
+    List<ClientRow> findDirectoryFirstPageByVisitCount(
+            @Param("salonId") String salonId,
+            @Param("minVisits") Integer minVisits,
+            @Param("minSpend") BigDecimal minSpend,
+            @Param("visitedFrom") LocalDateTime visitedFrom,
+            @Param("visitedBefore") LocalDateTime visitedBefore,
+            Pageable pageable);
+
+    /** Directory page after the (visitCount, id) key of the previous page's last row. */
+    @Query(DIRECTORY_ROWS + """
+          AND (c.visitCount < :visitCount OR (c.visitCount = :visitCount AND c.id < :id))
+        ORDER BY c.visitCount DESC, c.id DESC
+        """)
+    List<ClientRow> findDirectoryPageByVisitCountAfter(
+            @Param("salonId") String salonId,
+            @Param("minVisits") Integer minVisits,
+            @Param("minSpend") BigDecimal minSpend,
+            @Param("visitedFrom") LocalDateTime visitedFrom,
+            @Param("visitedBefore") LocalDateTime visitedBefore,
+            @Param("visitCount") int visitCount,
+            @Param("id") String id,
+            Pageable pageable);
+
+    /** First directory page, highest lifetime spend first. */
+    @Query(DIRECTORY_ROWS + """
+        ORDER BY c.lifetimeSpend DESC, c.id DESC
+        """)
+    List<ClientRow> findDirectoryFirstPageBySpend(
+            @Param("salonId") String salonId,
+            @Param("minVisits") Integer minVisits,
+            @Param("minSpend") BigDecimal minSpend,
+            @Param("visitedFrom") LocalDateTime visitedFrom,
+            @Param("visitedBefore") LocalDateTime visitedBefore,
+            Pageable pageable);
+
+    /** Directory page after the (lifetimeSpend, id) key of the previous page's last row. */
+    @Query(DIRECTORY_ROWS + """
+          AND (c.lifetimeSpend < :lifetimeSpend OR (c.lifetimeSpend = :lifetimeSpend AND c.id < :id))
+        ORDER BY c.lifetimeSpend DESC, c.id DESC
+        """)
+    List<ClientRow> findDirectoryPageBySpendAfter(
+            @Param("salonId") String salonId,
+            @Param("minVisits") Integer minVisits,
+            @Param("minSpend") BigDecimal minSpend,
+            @Param("visitedFrom") LocalDateTime visitedFrom,
+            @Param("visitedBefore") LocalDateTime visitedBefore,
+            @Param("lifetimeSpend") BigDecimal lifetimeSpend,
+            @Param("id") String id,
+            Pageable pageable);
+
+
+    /** Searchable fields only, to build the in-memory trigram index of a salon. */
+    @Query("""
+        SELECT c.id AS id, c.firstName AS firstName, c.lastName AS lastName, c.phone AS phone
+        FROM Client c
+        WHERE c.salon.id = :salonId
+        """)
+    List<ClientSearchRow> findSearchRowsBySalonId(@Param("salonId") String salonId);
 
     Optional<Client> findByIdAndSalon_Id(String id, String salonId);
+
+    /** Counts a completed appointment; the last visit only moves forward. */
+    @Modifying
+    @Query("""
+        UPDATE Client c
+        SET c.visitCount = c.visitCount + 1,
+            c.lastVisitAt = CASE WHEN c.lastVisitAt IS NULL OR c.lastVisitAt < :visitAt
+                                 THEN :visitAt ELSE c.lastVisitAt END
+        WHERE c.id = :clientId
+        """)
+    int recordVisit(@Param("clientId") String clientId, @Param("visitAt") LocalDateTime visitAt);
+
+    @Modifying
+    @Query("UPDATE Client c SET c.lifetimeSpend = c.lifetimeSpend + :delta WHERE c.id = :clientId")
+    int addSpend(@Param("clientId") String clientId, @Param("delta") BigDecimal delta);
+
+    /** Adds a merged duplicate's statistics to the kept client. */
+    @Modifying
+    @Query("""
+        UPDATE Client c
+        SET c.visitCount = c.visitCount + :visits,
+            c.lifetimeSpend = c.lifetimeSpend + :spend,
+            c.lastVisitAt = CASE WHEN c.lastVisitAt IS NULL OR c.lastVisitAt < :lastVisitAt
+                                 THEN :lastVisitAt ELSE c.lastVisitAt END
+        WHERE c.id = :clientId
+        """)
+    int absorbVisits(@Param("clientId") String clientId, @Param("visits") int visits,
+                     @Param("spend") BigDecimal spend, @Param("lastVisitAt") LocalDateTime lastVisitAt);
+
+    /**
+     * Recomputes the visit statistics of a salon's clients in one statement. Transactions with a
+     * pending outbox event are counted as the dispatcher will leave them (same rule as the rollups);
+     * dead-lettered events are not pending, they will not be delivered unless replayed.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+        UPDATE clients c SET
+            visit_count = (SELECT COUNT(*) FROM appointments a
+                           WHERE a.client_id = c.id AND a.status = 'COMPLETED'),
+            last_visit_at = (SELECT MAX(a.start_time) FROM appointments a
+                             WHERE a.client_id = c.id AND a.status = 'COMPLETED'),
+            lifetime_spend = COALESCE((
+                SELECT SUM(t.total_amount)
+                FROM transactions t
+                JOIN appointments a ON a.id = t.appointment_id
+                WHERE a.client_id = c.id
+                  AND (t.status = 'COMPLETED'
+                       OR EXISTS (SELECT 1 FROM outbox_events e
+                                  WHERE e.aggregate_id = t.id
+                                    AND e.processed_at IS NULL AND e.failed_at IS NULL
+                                    AND e.event_type = 'TRANSACTION_VOIDED'))
+                  AND NOT EXISTS (SELECT 1 FROM outbox_events e
+                                  WHERE e.aggregate_id = t.id
+                                    AND e.processed_at IS NULL AND e.failed_at IS NULL
+                                    AND e.event_type = 'TRANSACTION_COMPLETED')), 0)
+        WHERE c.salon_id = :salonId
+        """)
+    int rebuildVisitStats(@Param("salonId") String salonId);
 }
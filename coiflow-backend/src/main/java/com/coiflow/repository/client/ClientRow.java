@@ -0,0 +1,17 @@
+package com.coiflow.repository.client;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface ClientRow {
+    String getId();
+    String getFirstName();
+    String getLastName();
+    String getPhone();
+    String getEmail();
+    String getNotes();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getLastVisitAt();
+    int getVisitCount();
+    BigDecimal getLifetimeSpend();
+}
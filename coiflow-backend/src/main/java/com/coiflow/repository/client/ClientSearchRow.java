@@ -0,0 +1,8 @@
+package com.coiflow.repository.client;
+
+public interface ClientSearchRow {
+    String getId();
+    String getFirstName();
+    String getLastName();
+    String getPhone();
+}
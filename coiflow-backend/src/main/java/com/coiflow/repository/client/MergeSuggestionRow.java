@@ -0,0 +1,21 @@
+package com.coiflow.repository.client;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface MergeSuggestionRow {
+    String getId();
+    BigDecimal getScore();
+    String getReasons();
+    LocalDateTime getCreatedAt();
+    String getClientId();
+    String getClientFirstName();
+    String getClientLastName();
+    String getClientPhone();
+    String getClientEmail();
+    String getDuplicateId();
+    String getDuplicateFirstName();
+    String getDuplicateLastName();
+    String getDuplicatePhone();
+    String getDuplicateEmail();
+}
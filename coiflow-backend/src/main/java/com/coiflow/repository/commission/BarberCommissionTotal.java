@@ -0,0 +1,10 @@
+package com.coiflow.repository.commission;
+
+import java.math.BigDecimal;
+
+public interface BarberCommissionTotal {
+    String getBarberId();
+    String getBarberName();
+    BigDecimal getTotalAmount();
+    long getCommissionCount();
+}
@@ -0,0 +1,24 @@
+package com.coiflow.repository.commission;
+
+import com.coiflow.model.commission.CommissionPeriod;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+
+public interface CommissionPeriodRepository extends JpaRepository<CommissionPeriod, String> {
+
+    boolean existsBySalon_IdAndPeriodStartAndPeriodEnd(String salonId, LocalDate periodStart, LocalDate periodEnd);
+
+    @Query("""
+        SELECT COUNT(p) > 0 FROM CommissionPeriod p
+        WHERE p.salon.id = :salonId
+          AND p.periodStart <= :end
+          AND p.periodEnd >= :start
+        """)
+    boolean existsOverlapping(
+            @Param("salonId") String salonId,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end);
+}
@@ -0,0 +1,117 @@
+package com.coiflow.repository.commission;
+
+import com.coiflow.model.commission.CommissionRecalculation;
+import com.coiflow.model.enums.RecalculationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface CommissionRecalculationRepository extends JpaRepository<CommissionRecalculation, String> {
+
+    @Query("""
+        SELECT r FROM CommissionRecalculation r
+        JOIN FETCH r.barber
+        WHERE r.id = :id AND r.salon.id = :salonId
+        """)
+    Optional<CommissionRecalculation> findByIdAndSalonId(@Param("id") String id, @Param("salonId") String salonId);
+
+    @Query("""
+        SELECT r FROM CommissionRecalculation r
+        JOIN FETCH r.barber
+        WHERE r.salon.id = :salonId
+        ORDER BY r.createdAt DESC
+        """)
+    List<CommissionRecalculation> findBySalonId(@Param("salonId") String salonId);
+
+    boolean existsByBarberIdAndStatusIn(String barberId, List<RecalculationStatus> statuses);
+
+    /**
+     * Advances counters and checkpoint in the transaction that wrote the chunk. Returns 0 when the
+     * job is no longer run by this owner (declared stale and resumed elsewhere): the chunk must roll back.
+     */
+    @Modifying
+    @Query("""
+        UPDATE CommissionRecalculation r
+        SET r.processedCount = r.processedCount + :processed,
+            r.updatedCount = r.updatedCount + :updated,
+            r.checkpointDate = :checkpointDate,
+            r.checkpointId = :checkpointId,
+            r.heartbeatAt = :now
+        WHERE r.id = :id
+          AND r.owner = :owner
+          AND r.status = com.coiflow.model.enums.RecalculationStatus.RUNNING
+        """)
+    int advance(@Param("id") String id,
+                @Param("owner") String owner,
+                @Param("processed") long processed,
+                @Param("updated") long updated,
+                @Param("checkpointDate") LocalDate checkpointDate,
+                @Param("checkpointId") String checkpointId,
+                @Param("now") LocalDateTime now);
+
+    /**
+     * Moves a FAILED job back to PENDING, owned by the resuming instance. Returns 0 if it is not
+     * resumable (or already resumed).
+     */
+    @Modifying
+    @Query("""
+        UPDATE CommissionRecalculation r
+        SET r.status = com.coiflow.model.enums.RecalculationStatus.PENDING,
+            r.lastError = NULL,
+            r.finishedAt = NULL,
+            r.owner = :owner,
+            r.heartbeatAt = :now
+        WHERE r.id = :id
+          AND r.status = com.coiflow.model.enums.RecalculationStatus.FAILED
+        """)
+    int markResumable(@Param("id") String id, @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    /** Keeps the jobs queued or running on this instance alive. */
+    @Modifying
+    @Query("""
+        UPDATE CommissionRecalculation r
+        SET r.heartbeatAt = :now
+        WHERE r.owner = :owner
+          AND r.status IN (com.coiflow.model.enums.RecalculationStatus.PENDING,
+                           com.coiflow.model.enums.RecalculationStatus.RUNNING)
+        """)
+    int heartbeat(@Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    /**
+     * Jobs left PENDING or RUNNING by an instance that stopped beating (shut down or crashed)
+     * become FAILED and can be resumed. Jobs of live instances are left alone.
+     */
+    @Modifying
+    @Query("""
+        UPDATE CommissionRecalculation r
+        SET r.status = com.coiflow.model.enums.RecalculationStatus.FAILED,
+            r.lastError = :error,
+            r.finishedAt = :now
+        WHERE r.status IN (com.coiflow.model.enums.RecalculationStatus.PENDING,
+                           com.coiflow.model.enums.RecalculationStatus.RUNNING)
+          AND (r.heartbeatAt IS NULL OR r.heartbeatAt < :staleBefore)
+        """)
+    int failStale(@Param("error") String error, @Param("now") LocalDateTime now,
+                  @Param("staleBefore") LocalDateTime staleBefore);
+
+    /** Ends a job still run by this owner. */
+    @Modifying
+    @Query("""
+        UPDATE CommissionRecalculation r
+        SET r.status = :status,
+            r.lastError = :error,
+            r.finishedAt = :now
+        WHERE r.id = :id
+          AND r.owner = :owner
+          AND r.status IN (com.coiflow.model.enums.RecalculationStatus.PENDING,
+                           com.coiflow.model.enums.RecalculationStatus.RUNNING)
+        """)
+    int finish(@Param("id") String id, @Param("owner") String owner, @Param("status") RecalculationStatus status,
+               @Param("error") String error, @Param("now") LocalDateTime now);
+}
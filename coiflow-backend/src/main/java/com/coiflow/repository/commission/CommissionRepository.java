@@ -2,16 +2,81 @@ package com.coiflow.repository.commission;
 
 import com.coiflow.model.commission.Commission;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface CommissionRepository extends JpaRepository<Commission, String> {
 
-    List<Commission> findBySalonIdAndCreatedAtBetween(String salonId, LocalDateTime start, LocalDateTime end);
+    /** Served by idx_commission_salon_created; the barber join is the only one needed. */
+    @Query("""
+        SELECT c.id AS id,
+               b.id AS barberId,
+               CONCAT(b.firstName, ' ', b.lastName) AS barberName,
+               c.transaction.id AS transactionId,
+               c.rateApplied AS rateApplied,
+               c.amount AS amount,
+               c.createdAt AS createdAt
+        FROM Commission c JOIN c.barber b
+        WHERE c.salon.id = :salonId
+          AND c.createdAt >= :start
+          AND c.createdAt < :end
+        ORDER BY c.createdAt
+        """)
+    List<CommissionRow> findRowsBySalonIdAndCreatedAtBetween(
+            @Param("salonId") String salonId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
 
-    List<Commission> findByBarberIdAndCreatedAtBetween(String barberId, LocalDateTime start, LocalDateTime end);
+    /** Served by idx_commission_barber (barber_id, created_at). */
+    @Query("""
+        SELECT c.id AS id,
+               b.id AS barberId,
+               CONCAT(b.firstName, ' ', b.lastName) AS barberName,
+               c.transaction.id AS transactionId,
+               c.rateApplied AS rateApplied,
+               c.amount AS amount,
+               c.createdAt AS createdAt
+        FROM Commission c JOIN c.barber b
+        WHERE b.id = :barberId
+          AND c.createdAt >= :start
+          AND c.createdAt < :end
+          AND c.salon.id = :salonId
+        ORDER BY c.createdAt
+        """)
+    List<CommissionRow> findRowsByBarberIdAndCreatedAtBetween(
+            @Param("salonId") String salonId,
+            @Param("barberId") String barberId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
 
     Optional<Commission> findByTransactionId(String transactionId);
+
+    long countBySalonIdAndBarberIdAndPeriodStartBetween(
+            String salonId, String barberId, LocalDate start, LocalDate end);
+
+    /**
+     * Per-barber totals of a period; commissions of voided transactions are not paid.
+     */
+    @Query("""
+        SELECT b.id AS barberId,
+               CONCAT(b.firstName, ' ', b.lastName) AS barberName,
+               SUM(c.amount) AS totalAmount,
+               COUNT(c) AS commissionCount
+        FROM Commission c JOIN c.barber b JOIN c.transaction t
+        WHERE c.salon.id = :salonId
+          AND t.status = com.coiflow.model.enums.TransactionStatus.COMPLETED
+          AND c.periodStart >= :start
+          AND c.periodEnd <= :end
+        GROUP BY b.id, b.firstName, b.lastName
+        ORDER BY SUM(c.amount) DESC
+        """)
+    List<BarberCommissionTotal> sumByBarberForPeriod(
+            @Param("salonId") String salonId,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end);
 }
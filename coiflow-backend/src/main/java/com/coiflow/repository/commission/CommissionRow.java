@@ -0,0 +1,14 @@
+package com.coiflow.repository.commission;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface CommissionRow {
+    String getId();
+    String getBarberId();
+    String getBarberName();
+    String getTransactionId();
+    BigDecimal getRateApplied();
+    BigDecimal getAmount();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,25 @@
+package com.coiflow.repository.commission;
+
+import com.coiflow.model.commission.CommissionStatement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface CommissionStatementRepository extends JpaRepository<CommissionStatement, String> {
+
+    @Query("""
+        SELECT s FROM CommissionStatement s JOIN FETCH s.barber
+        WHERE s.salon.id = :salonId
+          AND s.periodStart = :start
+          AND s.periodEnd = :end
+        ORDER BY s.totalAmount DESC
+        """)
+    List<CommissionStatement> findPeriod(
+            @Param("salonId") String salonId,
+            @Param("start") LocalDate start,
+            @Param("end") LocalDate end);
+
+}
@@ -0,0 +1,10 @@
+package com.coiflow.repository.dashboard;
+
+import java.math.BigDecimal;
+
+public interface RankingRow {
+    String getId();
+    String getName();
+    BigDecimal getRevenue();
+    long getVolume();
+}
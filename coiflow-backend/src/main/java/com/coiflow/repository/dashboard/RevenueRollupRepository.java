@@ -0,0 +1,51 @@
+package com.coiflow.repository.dashboard;
+
+import com.coiflow.model.dashboard.RevenueRollup;
+import com.coiflow.model.enums.Granularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RevenueRollupRepository extends JpaRepository<RevenueRollup, String> {
+
+    List<RevenueRollup> findBySalonIdAndGranularityAndBucketStartBetweenOrderByBucketStart(
+            String salonId, Granularity granularity, LocalDate start, LocalDate end);
+
+    @Modifying
+    @Query("DELETE FROM RevenueRollup r WHERE r.salon.id = :salonId")
+    void deleteBySalonId(@Param("salonId") String salonId);
+
+    /**
+     * Adds a delta to a bucket, creating it on first use (standard SQL MERGE, H2 and PostgreSQL 15+).
+     * MERGE alone can fail on the unique index when two transactions insert the same new bucket;
+     * callers hold the salon's rollup state lock, which rules that out.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+        MERGE INTO revenue_rollups r
+        USING (SELECT CAST(:salonId AS VARCHAR(36)) AS salon_id,
+                      CAST(:granularity AS VARCHAR(10)) AS granularity,
+                      CAST(:bucketStart AS DATE) AS bucket_start) src
+        ON r.salon_id = src.salon_id
+           AND r.granularity = src.granularity
+           AND r.bucket_start = src.bucket_start
+        WHEN MATCHED THEN
+            UPDATE SET revenue = r.revenue + :revenue,
+                       transaction_count = r.transaction_count + :count
+        WHEN NOT MATCHED THEN
+            INSERT (id, salon_id, granularity, bucket_start, revenue, transaction_count)
+            VALUES (:id, src.salon_id, src.granularity, src.bucket_start, :revenue, :count)
+        """)
+    void applyDelta(
+            @Param("id") String id,
+            @Param("salonId") String salonId,
+            @Param("granularity") String granularity,
+            @Param("bucketStart") LocalDate bucketStart,
+            @Param("revenue") BigDecimal revenue,
+            @Param("count") int count);
+}
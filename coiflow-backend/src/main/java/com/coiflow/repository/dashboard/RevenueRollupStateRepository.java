@@ -0,0 +1,22 @@
+package com.coiflow.repository.dashboard;
+
+import com.coiflow.model.dashboard.RevenueRollupState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface RevenueRollupStateRepository extends JpaRepository<RevenueRollupState, String> {
+
+    /** Locks the rows in id order, so that two writers touching the same salons cannot deadlock. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM RevenueRollupState s WHERE s.salonId IN :salonIds ORDER BY s.salonId")
+    List<RevenueRollupState> lockAll(@Param("salonIds") Collection<String> salonIds);
+
+    @Query("SELECT s.salonId FROM RevenueRollupState s WHERE s.builtAt IS NULL")
+    List<String> findSalonIdsToBuild();
+}
@@ -0,0 +1,9 @@
+package com.coiflow.repository.dashboard;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface TransactionAmountRow {
+    LocalDateTime getCreatedAt();
+    BigDecimal getTotalAmount();
+}
@@ -0,0 +1,69 @@
+package com.coiflow.repository.outbox;
+
+import com.coiflow.model.outbox.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, String> {
+
+    /** Events that can be delivered now: not processed, not dead-lettered, and past their backoff. */
+    @Query("""
+        SELECT e.id FROM OutboxEvent e
+        WHERE e.processedAt IS NULL
+          AND e.failedAt IS NULL
+          AND (e.nextAttemptAt IS NULL OR e.nextAttemptAt <= :now)
+        ORDER BY e.createdAt
+        """)
+    List<String> findPendingIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    long countByProcessedAtIsNullAndFailedAtIsNull();
+
+    /**
+     * Whether a transaction whose service date falls in [start, end) still has an unprocessed
+     * event, pending or dead-lettered; its commission may be missing or not yet voided.
+     */
+    @Query("""
+        SELECT COUNT(e) > 0
+        FROM OutboxEvent e
+        JOIN Transaction t ON t.id = e.aggregateId
+        LEFT JOIN t.appointment a
+        WHERE e.salonId = :salonId
+          AND e.processedAt IS NULL
+          AND ((a.id IS NOT NULL AND a.startTime >= :start AND a.startTime < :end)
+               OR (a.id IS NULL AND t.createdAt >= :start AND t.createdAt < :end))
+        """)
+    boolean existsUnprocessedForServicePeriod(
+            @Param("salonId") String salonId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    long countByFailedAtIsNotNull();
+
+    /**
+     * Claims an event for the current transaction. Returns 0 if another dispatcher already did.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.processedAt = :now WHERE e.id = :id AND e.processedAt IS NULL")
+    int claim(@Param("id") String id, @Param("now") LocalDateTime now);
+
+    /**
+     * Puts dead-lettered events back in the queue with fresh attempts, for one salon or all of them.
+     */
+    @Modifying
+    @Query("""
+        UPDATE OutboxEvent e SET e.failedAt = NULL, e.nextAttemptAt = NULL, e.attempts = 0
+        WHERE e.failedAt IS NOT NULL
+          AND (:salonId IS NULL OR e.salonId = :salonId)
+        """)
+    int replayFailed(@Param("salonId") String salonId);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.processedAt < :before")
+    int deleteProcessedBefore(@Param("before") LocalDateTime before);
+}
@@ -1,11 +1,50 @@
 package com.coiflow.repository.salon;
 
 import com.coiflow.model.salon.Salon;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface SalonRepository extends JpaRepository<Salon, String> {
 
     List<Salon> findByActive(boolean active);
+
+    /** Admin listing: optional name pattern (lowercase LIKE) and active filter. */
+    @Query("""
+        SELECT s FROM Salon s
+        WHERE (:namePattern IS NULL OR LOWER(s.name) LIKE :namePattern)
+          AND (:active IS NULL OR s.active = :active)
+        """)
+    Page<Salon> search(@Param("namePattern") String namePattern, @Param("active") Boolean active, Pageable pageable);
+
+    @Query("SELECT s.timeZone FROM Salon s WHERE s.id = :id")
+    Optional<String> findTimeZoneById(@Param("id") String id);
+
+    /**
+     * Exclusive row lock on the salon, taken to close a commission period. Writers of commissions
+     * take the shared lock below, so none of them runs between the checks of a close and its commit.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Salon s WHERE s.id = :id")
+    Optional<Salon> lockById(@Param("id") String id);
+
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT s FROM Salon s WHERE s.id = :id")
+    Optional<Salon> lockSharedById(@Param("id") String id);
+
+    /** Revocation epoch of the salon (V11), not mapped for the same reason as the user's. */
+    @Query(nativeQuery = true, value = "SELECT token_epoch FROM salons WHERE id = :id")
+    Optional<Long> findTokenEpoch(@Param("id") String id);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "UPDATE salons SET token_epoch = token_epoch + 1 WHERE id = :id")
+    int incrementTokenEpoch(@Param("id") String id);
 }
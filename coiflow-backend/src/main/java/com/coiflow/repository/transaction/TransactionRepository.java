@@ -1,11 +1,19 @@
 package com.coiflow.repository.transaction;
 
 import com.coiflow.model.transaction.Transaction;
+import com.coiflow.repository.dashboard.RankingRow;
+import com.coiflow.repository.dashboard.TransactionAmountRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TransactionRepository extends JpaRepository<Transaction, String> {
 
@@ -16,4 +24,75 @@ public interface TransactionRepository extends JpaRepository<Transaction, String
     Optional<Transaction> findByAppointmentId(String appointmentId);
 
     boolean existsByAppointmentId(String appointmentId);
+
+    @Query("""
+        SELECT b.id AS id,
+               CONCAT(b.firstName, ' ', b.lastName) AS name,
+               SUM(t.totalAmount) AS revenue,
+               COUNT(t) AS volume
+        FROM Transaction t JOIN t.barber b
+        WHERE t.salon.id = :salonId
+          AND t.status = com.coiflow.model.enums.TransactionStatus.COMPLETED
+          AND t.createdAt >= :start
+          AND t.createdAt < :end
+        GROUP BY b.id, b.firstName, b.lastName
+        """)
+    List<RankingRow> rankBarbers(
+            @Param("salonId") String salonId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    @Query("""
+        SELECT s.id AS id,
+               s.name AS name,
+               SUM(asi.priceApplied) AS revenue,
+               COUNT(asi) AS volume
+        FROM Transaction t
+          JOIN t.appointment a
+          JOIN a.services asi
+          JOIN asi.service s
+        WHERE t.salon.id = :salonId
+          AND t.status = com.coiflow.model.enums.TransactionStatus.COMPLETED
+          AND t.createdAt >= :start
+          AND t.createdAt < :end
+        GROUP BY s.id, s.name
+        """)
+    List<RankingRow> rankServices(
+            @Param("salonId") String salonId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    @Query("""
+        SELECT t.createdAt AS createdAt, t.totalAmount AS totalAmount
+        FROM Transaction t
+        WHERE t.salon.id = :salonId
+          AND t.status = com.coiflow.model.enums.TransactionStatus.COMPLETED
+          AND t.createdAt >= :start
+          AND t.createdAt < :end
+        """)
+    List<TransactionAmountRow> findCompletedAmounts(
+            @Param("salonId") String salonId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    /**
+     * Amounts that the revenue rollups should account for once every pending outbox event is applied:
+     * transactions whose completion is still pending are left to their event, and transactions whose
+     * void is still pending are counted so that the event can subtract them. Dead-lettered events
+     * are not pending: they will not be delivered unless replayed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+        SELECT t.createdAt AS createdAt, t.totalAmount AS totalAmount
+        FROM Transaction t
+        WHERE t.salon.id = :salonId
+          AND (t.status = com.coiflow.model.enums.TransactionStatus.COMPLETED
+               OR EXISTS (SELECT e.id FROM OutboxEvent e
+                          WHERE e.aggregateId = t.id AND e.processedAt IS NULL AND e.failedAt IS NULL
+                            AND e.eventType = com.coiflow.model.enums.OutboxEventType.TRANSACTION_VOIDED))
+          AND NOT EXISTS (SELECT e.id FROM OutboxEvent e
+                          WHERE e.aggregateId = t.id AND e.processedAt IS NULL AND e.failedAt IS NULL
+                            AND e.eventType = com.coiflow.model.enums.OutboxEventType.TRANSACTION_COMPLETED)
+        """)
+    Stream<TransactionAmountRow> streamRollupAmounts(@Param("salonId") String salonId);
 }
@@ -0,0 +1,8 @@
+package com.coiflow.repository.user;
+
+public interface ManagerRow {
+    String getSalonId();
+    String getId();
+    String getFirstName();
+    String getLastName();
+}
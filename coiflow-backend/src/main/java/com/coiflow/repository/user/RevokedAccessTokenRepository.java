@@ -0,0 +1,28 @@
+package com.coiflow.repository.user;
+
+import com.coiflow.model.user.RevokedAccessToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RevokedAccessTokenRepository extends JpaRepository<RevokedAccessToken, String> {
+
+    /** Served by idx_revoked_token_revoked_at. */
+    @Query("""
+        SELECT r FROM RevokedAccessToken r
+        WHERE r.revokedAt >= :since AND r.expiresAt > :now
+        """)
+    List<RevokedAccessToken> findRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    @Query("SELECT r FROM RevokedAccessToken r WHERE r.expiresAt > :now")
+    List<RevokedAccessToken> findUnexpired(@Param("now") LocalDateTime now);
+
+    /** Served by idx_revoked_token_expires_at. */
+    @Modifying
+    @Query("DELETE FROM RevokedAccessToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,10 +1,14 @@
 package com.coiflow.repository.user;
 
 import com.coiflow.model.user.Utilisateur;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,8 +28,38 @@ public interface UtilisateurRepository extends JpaRepository<Utilisateur, String
             @Param("type") Class<? extends Utilisateur> type,
             @Param("active") boolean active);
 
+    @Query("SELECT COUNT(u) FROM Utilisateur u WHERE u.salon.id = :salonId AND TYPE(u) = :type AND u.active = :active")
+    long countBySalonIdAndTypeAndActive(
+            @Param("salonId") String salonId,
+            @Param("type") Class<? extends Utilisateur> type,
+            @Param("active") boolean active);
+
     @Query("SELECT u FROM Utilisateur u WHERE u.id = :id AND TYPE(u) = :type")
     Optional<Utilisateur> findByIdAndType(
             @Param("id") String id,
             @Param("type") Class<? extends Utilisateur> type);
+
+    /** Same lookup, with a row lock held until commit. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM Utilisateur u WHERE u.id = :id AND TYPE(u) = :type")
+    Optional<Utilisateur> lockByIdAndType(
+            @Param("id") String id,
+            @Param("type") Class<? extends Utilisateur> type);
+
+    /** Active managers of several salons, oldest first: the first one per salon is its primary manager. */
+    @Query("""
+        SELECT m.salon.id AS salonId, m.id AS id, m.firstName AS firstName, m.lastName AS lastName
+        FROM Manager m
+        WHERE m.salon.id IN :salonIds AND m.active = true
+        ORDER BY m.createdAt, m.id
+        """)
+    List<ManagerRow> findActiveManagersBySalonIds(@Param("salonIds") Collection<String> salonIds);
+
+    /** Revocation epoch of the user (V11), not mapped so that saving a user never overwrites a bump. */
+    @Query(nativeQuery = true, value = "SELECT token_epoch FROM utilisateur WHERE id = :id")
+    Optional<Long> findTokenEpoch(@Param("id") String id);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "UPDATE utilisateur SET token_epoch = token_epoch + 1 WHERE id = :id")
+    int incrementTokenEpoch(@Param("id") String id);
 }
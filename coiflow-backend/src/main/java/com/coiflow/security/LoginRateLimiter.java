@@ -1,46 +1,232 @@
 package com.coiflow.security;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Sliding-window limiter on failed logins, keyed by email and by client IP.
+ * An email is blocked once it reaches its failure threshold within the window. An IP that
+ * reaches its threshold is only throttled to one attempt per interval: many users can share an
+ * address (proxy, salon NAT), and a hard block would let anyone lock all of them out.
+ * Each key keeps at most threshold timestamps and is updated atomically with
+ * {@link ConcurrentHashMap#compute}; the number of tracked keys is bounded: idle keys are
+ * evicted first, then the least recently failing ones, never a blocked email or a throttled IP.
+ * A full map is cut down to a low-water mark in one pass, and when only restricted keys are left
+ * no new pass runs before the next purge, so a full map costs one scan per purge, not per failure.
+ */
 @Component
 public class LoginRateLimiter {
 
-    private static final int MAX_ATTEMPTS = 3;
-    private static final int BLOCK_DURATION_MINUTES = 10;
+    @Value("${auth.login-limiter.email-max-failures:3}")
+    private int emailMaxFailures;
 
-    private final Map<String, LoginAttempt> attempts = new ConcurrentHashMap<>();
+    @Value("${auth.login-limiter.ip-max-failures:20}")
+    private int ipMaxFailures;
 
-    public boolean isBlocked(String email) {
-        LoginAttempt attempt = attempts.get(email);
-        if (attempt == null) return false;
-        if (attempt.blockedUntil != null && LocalDateTime.now().isBefore(attempt.blockedUntil)) {
-            return true;
-        }
-        if (attempt.blockedUntil != null && LocalDateTime.now().isAfter(attempt.blockedUntil)) {
-            attempts.remove(email);
-            return false;
+    @Value("${auth.login-limiter.window-minutes:10}")
+    private long windowMinutes;
+
+    @Value("${auth.login-limiter.block-minutes:10}")
+    private long blockMinutes;
+
+    @Value("${auth.login-limiter.ip-throttle-interval-ms:1000}")
+    private long ipThrottleIntervalMs;
+
+    @Value("${auth.login-limiter.max-keys:100000}")
+    private int maxKeys;
+
+    private final Map<String, Attempts> attempts = new ConcurrentHashMap<>();
+
+    // Set when an eviction pass could not make room; cleared by the next purge
+    private volatile boolean saturated;
+
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder blocks = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder untracked = new LongAdder();
+
+    /** Whether this attempt must be rejected; an admitted attempt from a throttled IP uses its slot. */
+    public boolean isBlocked(String email, String ip) {
+        long now = System.currentTimeMillis();
+        boolean blocked = isBlocked(emailKey(email), now) || (ip != null && !admitFromIp(ipKey(ip), now));
+        if (blocked) {
+            rejections.increment();
         }
-        return false;
+        return blocked;
     }
 
-    public void recordFailure(String email) {
-        LoginAttempt attempt = attempts.computeIfAbsent(email, k -> new LoginAttempt());
-        attempt.failCount++;
-        if (attempt.failCount >= MAX_ATTEMPTS) {
-            attempt.blockedUntil = LocalDateTime.now().plusMinutes(BLOCK_DURATION_MINUTES);
+    public void recordFailure(String email, String ip) {
+        long now = System.currentTimeMillis();
+        failures.increment();
+        record(emailKey(email), emailMaxFailures, blockMinutes * 60_000, now);
+        if (ip != null) {
+            // No block for an IP, see admitFromIp
+            record(ipKey(ip), ipMaxFailures, 0, now);
         }
     }
 
+    /** Clears the email's failures; the IP keeps its history. */
     public void recordSuccess(String email) {
-        attempts.remove(email);
+        attempts.remove(emailKey(email));
+    }
+
+    public Stats stats() {
+        long now = System.currentTimeMillis();
+        long blocked = attempts.values().stream().filter(a -> a.isBlocked(now)).count();
+        long throttledIps = attempts.entrySet().stream()
+                .filter(e -> e.getKey().startsWith(IP_PREFIX) && e.getValue().isHot(now, windowMillis(), ipMaxFailures))
+                .count();
+        return new Stats(attempts.size(), blocked, throttledIps, failures.sum(), rejections.sum(),
+                blocks.sum(), throttled.sum(), evictions.sum(), untracked.sum());
+    }
+
+    @Scheduled(fixedDelayString = "${auth.login-limiter.purge-interval-ms:60000}")
+    public void purgeIdle() {
+        long now = System.currentTimeMillis();
+        attempts.values().removeIf(a -> a.isIdle(now, windowMillis()));
+        saturated = false;
+    }
+
+    private boolean isBlocked(String key, long now) {
+        Attempts a = attempts.get(key);
+        return a != null && a.isBlocked(now);
+    }
+
+    // A throttled IP gets one attempt per interval; the others are rejected until the next slot
+    private boolean admitFromIp(String key, long now) {
+        boolean[] admitted = {true};
+        attempts.computeIfPresent(key, (k, current) -> {
+            if (!current.isHot(now, windowMillis(), ipMaxFailures)) {
+                return current;
+            }
+            if (current.nextSlotAt() > now) {
+                admitted[0] = false;
+                throttled.increment();
+                return current;
+            }
+            return current.withNextSlot(now + ipThrottleIntervalMs);
+        });
+        return admitted[0];
+    }
+
+    private void record(String key, int maxFailures, long blockMillis, long now) {
+        if (attempts.size() >= maxKeys && !attempts.containsKey(key) && (saturated || !evict(now))) {
+            // Only restricted keys left: they are kept, the new key is not tracked
+            untracked.increment();
+            return;
+        }
+        attempts.compute(key, (k, current) -> {
+            Attempts next = (current != null ? current : Attempts.EMPTY)
+                    .withFailure(now, windowMillis(), maxFailures, blockMillis);
+            if (next.isBlocked(now) && (current == null || !current.isBlocked(now))) {
+                blocks.increment();
+            }
+            return next;
+        });
+    }
+
+    /**
+     * Idle keys go first; if the map is still above the low-water mark (90% of max-keys), the least
+     * recently failing keys are dropped down to it, so the next passes are maxKeys / 10 failures away.
+     * Evicting a blocked email or a throttled IP would lift its restriction, so those are kept.
+     * Returns whether there is room for a new key; when there is not, passes stop until the next purge.
+     */
+    private synchronized boolean evict(long now) {
+        if (attempts.size() < maxKeys) {
+            // Another thread made room meanwhile
+            return true;
+        }
+        int before = attempts.size();
+        attempts.values().removeIf(a -> a.isIdle(now, windowMillis()));
+        int overflow = attempts.size() - lowWaterMark();
+        if (overflow > 0) {
+            attempts.entrySet().stream()
+                    .filter(e -> !isRestricted(e.getKey(), e.getValue(), now))
+                    .sorted(Comparator.comparingLong(e -> e.getValue().lastFailureAt()))
+                    .limit(overflow)
+                    .toList()
+                    // Left in place if a concurrent failure updated it in between
+                    .forEach(e -> attempts.remove(e.getKey(), e.getValue()));
+        }
+        evictions.add(Math.max(0, before - attempts.size()));
+        boolean room = attempts.size() < maxKeys;
+        saturated = !room;
+        return room;
     }
 
-    private static class LoginAttempt {
-        int failCount = 0;
-        LocalDateTime blockedUntil;
+    private int lowWaterMark() {
+        return maxKeys - Math.max(1, maxKeys / 10);
+    }
+
+    private boolean isRestricted(String key, Attempts a, long now) {
+        return a.isBlocked(now) || (key.startsWith(IP_PREFIX) && a.isHot(now, windowMillis(), ipMaxFailures));
+    }
+
+    private long windowMillis() {
+        return windowMinutes * 60_000;
+    }
+
+    private static final String IP_PREFIX = "ip:";
+
+    private static String emailKey(String email) {
+        return "email:" + email;
+    }
+
+    private static String ipKey(String ip) {
+        return IP_PREFIX + ip;
+    }
+
+    public record Stats(long trackedKeys, long blockedKeys, long throttledIps, long failures, long rejections,
+                        long blocks, long throttled, long evictions, long untracked) {}
+
+    /**
+     * Immutable: failure times within the window (oldest first, at most the threshold), block end,
+     * and for a throttled IP the time of its next admitted attempt.
+     */
+    private record Attempts(long[] failures, long blockedUntil, long nextSlotAt) {
+
+        static final Attempts EMPTY = new Attempts(new long[0], 0, 0);
+
+        Attempts withFailure(long now, long window, int maxFailures, long blockMillis) {
+            long[] recent = Arrays.stream(failures).filter(t -> now - t < window).toArray();
+            int keep = Math.min(recent.length, maxFailures - 1);
+            long[] next = new long[keep + 1];
+            System.arraycopy(recent, recent.length - keep, next, 0, keep);
+            next[keep] = now;
+            long until = next.length >= maxFailures && blockMillis > 0
+                    ? Math.max(blockedUntil, now + blockMillis)
+                    : blockedUntil;
+            return new Attempts(next, until, nextSlotAt);
+        }
+
+        Attempts withNextSlot(long at) {
+            return new Attempts(failures, blockedUntil, at);
+        }
+
+        /** The threshold is reached within the window. */
+        boolean isHot(long now, long window, int maxFailures) {
+            return failures.length >= maxFailures && now - failures[failures.length - maxFailures] < window;
+        }
+
+        boolean isBlocked(long now) {
+            return blockedUntil > now;
+        }
+
+        boolean isIdle(long now, long window) {
+            return !isBlocked(now) && (failures.length == 0 || now - failures[failures.length - 1] >= window);
+        }
+
+        long lastFailureAt() {
+            return failures.length == 0 ? 0 : failures[failures.length - 1];
+        }
     }
 }
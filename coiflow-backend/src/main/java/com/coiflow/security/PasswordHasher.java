@@ -0,0 +1,134 @@
+package com.coiflow.security;
+
+import com.coiflow.exception.ServiceUnavailableException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on a dedicated bounded pool so a login storm cannot occupy every request thread.
+ * When the queue is full or the wait exceeds the timeout, the login fails fast with a 503; a
+ * timed-out task is taken off the queue, or skipped if a worker already picked it up, so that
+ * abandoned logins do not keep the pool busy after a storm.
+ */
+@Component
+@RequiredArgsConstructor
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor passwordHashExecutor;
+
+    @Value("${auth.password-hash.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private final LongAdder hashes = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAccumulator maxHashNanos = new LongAccumulator(Long::max, 0);
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder upgrades = new LongAdder();
+
+    public boolean matches(String rawPassword, String hash) {
+        return run(() -> passwordEncoder.matches(rawPassword, hash));
+    }
+
+    /**
+     * New hash at the configured cost when the stored one is weaker, otherwise null.
+     * Best effort: the password is already verified, so the rehash is skipped (and retried at a
+     * later login) while logins are queued for the pool, or when the pool turns it down.
+     */
+    public String upgradeIfNeeded(String rawPassword, String hash) {
+        if (!passwordEncoder.upgradeEncoding(hash)
+                || !passwordHashExecutor.getThreadPoolExecutor().getQueue().isEmpty()) {
+            return null;
+        }
+        try {
+            String upgraded = run(() -> passwordEncoder.encode(rawPassword));
+            upgrades.increment();
+            return upgraded;
+        } catch (ServiceUnavailableException e) {
+            return null;
+        }
+    }
+
+    public Stats stats() {
+        long count = hashes.sum();
+        return new Stats(
+                count,
+                count > 0 ? hashNanos.sum() / count / 1_000_000.0 : 0,
+                maxHashNanos.get() / 1_000_000.0,
+                passwordHashExecutor.getThreadPoolExecutor().getQueue().size(),
+                passwordHashExecutor.getActiveCount(),
+                rejections.sum(),
+                upgrades.sum());
+    }
+
+    private <T> T run(Supplier<T> hashing) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        Future<T> future;
+        try {
+            future = passwordHashExecutor.submit(() -> {
+                // Cancelled between dequeue and start: the caller has given up already
+                if (System.nanoTime() - deadline > 0) {
+                    throw busy();
+                }
+                return timed(hashing);
+            });
+        } catch (TaskRejectedException e) {
+            rejections.increment();
+            throw busy();
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            abandon(future);
+            rejections.increment();
+            throw busy();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abandon(future);
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // BCrypt ignores interrupts: a running hash completes, a queued one is removed
+    private void abandon(Future<?> future) {
+        future.cancel(false);
+        passwordHashExecutor.getThreadPoolExecutor().remove((Runnable) future);
+    }
+
+    private <T> T timed(Supplier<T> hashing) {
+        long start = System.nanoTime();
+        try {
+            return hashing.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            hashes.increment();
+            hashNanos.add(elapsed);
+            maxHashNanos.accumulate(elapsed);
+        }
+    }
+
+    private static ServiceUnavailableException busy() {
+        return new ServiceUnavailableException("LOGIN_BUSY", "Trop de connexions en cours, veuillez reessayer");
+    }
+
+    public record Stats(long hashes, double avgHashMillis, double maxHashMillis,
+                        int queueDepth, int activeThreads, long rejections, long upgrades) {}
+}
@@ -0,0 +1,74 @@
+package com.coiflow.security;
+
+import com.coiflow.cache.TtlCache;
+import com.coiflow.model.salon.Salon;
+import com.coiflow.model.user.Utilisateur;
+import com.coiflow.repository.salon.SalonRepository;
+import com.coiflow.repository.user.UtilisateurRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Short-lived cache of authenticated users and salon status, so that steady-state
+ * authentication does not query the database. Services that change a user or a salon's
+ * status invalidate the entry; the TTL bounds staleness for changes made elsewhere.
+ */
+@Component
+@RequiredArgsConstructor
+public class PrincipalCache {
+
+    private final UtilisateurRepository utilisateurRepository;
+    private final SalonRepository salonRepository;
+
+    @Value("${auth.principal-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${auth.principal-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private TtlCache<String, Utilisateur> users;
+    private TtlCache<String, Boolean> salons;
+
+    @PostConstruct
+    public void init() {
+        this.users = new TtlCache<>(maxEntries, Duration.ofSeconds(ttlSeconds));
+        this.salons = new TtlCache<>(maxEntries, Duration.ofSeconds(ttlSeconds));
+    }
+
+    /** The user as loaded at authentication time (detached), or null if unknown. */
+    public Utilisateur findUser(String userId) {
+        return users.get(userId, id -> utilisateurRepository.findById(id).orElse(null));
+    }
+
+    public boolean isSalonActive(String salonId) {
+        return salons.get(salonId, id -> salonRepository.findById(id).map(Salon::isActive).orElse(false));
+    }
+
+    public void invalidateUser(String userId) {
+        users.invalidate(userId);
+        afterCommit(() -> users.invalidate(userId));
+    }
+
+    public void invalidateSalon(String salonId) {
+        salons.invalidate(salonId);
+        afterCommit(() -> salons.invalidate(salonId));
+    }
+
+    // A request racing the change may reload the old row before commit: evict again once it is visible
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
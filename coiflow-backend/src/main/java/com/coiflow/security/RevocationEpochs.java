@@ -0,0 +1,89 @@
+package com.coiflow.security;
+
+import com.coiflow.cache.TtlCache;
+import com.coiflow.repository.salon.SalonRepository;
+import com.coiflow.repository.user.UtilisateurRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Per-user and per-salon revocation counters embedded in access tokens. Bumping an epoch
+ * invalidates every access token issued before. Counters are stored on the user and salon rows,
+ * so they survive restarts and are shared by all instances; checks read them through a cache with
+ * the principal cache TTL, which bounds how long another instance accepts a revoked token.
+ */
+@Component
+@RequiredArgsConstructor
+public class RevocationEpochs {
+
+    private final UtilisateurRepository utilisateurRepository;
+    private final SalonRepository salonRepository;
+
+    @Value("${auth.principal-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${auth.principal-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private TtlCache<String, Long> users;
+    private TtlCache<String, Long> salons;
+
+    @PostConstruct
+    public void init() {
+        this.users = new TtlCache<>(maxEntries, Duration.ofSeconds(ttlSeconds));
+        this.salons = new TtlCache<>(maxEntries, Duration.ofSeconds(ttlSeconds));
+    }
+
+    /** Current epoch of the user, read from the database: tokens are issued with the latest value. */
+    public long userEpoch(String userId) {
+        return utilisateurRepository.findTokenEpoch(userId).orElse(0L);
+    }
+
+    public long salonEpoch(String salonId) {
+        return salonId == null || salonId.isEmpty() ? 0L : salonRepository.findTokenEpoch(salonId).orElse(0L);
+    }
+
+    /** Must run in the transaction that revokes the user, e.g. the one deactivating it. */
+    public void revokeUser(String userId) {
+        utilisateurRepository.incrementTokenEpoch(userId);
+        users.invalidate(userId);
+        afterCommit(() -> users.invalidate(userId));
+    }
+
+    public void revokeSalon(String salonId) {
+        salonRepository.incrementTokenEpoch(salonId);
+        salons.invalidate(salonId);
+        afterCommit(() -> salons.invalidate(salonId));
+    }
+
+    /** Unknown users and salons have no current epoch: their tokens are rejected. */
+    public boolean isCurrent(String userId, long userEpoch, String salonId, long salonEpoch) {
+        long currentUser = users.get(userId, id -> utilisateurRepository.findTokenEpoch(id).orElse(Long.MAX_VALUE));
+        if (userEpoch < currentUser) {
+            return false;
+        }
+        if (salonId == null || salonId.isEmpty()) {
+            return true;
+        }
+        long currentSalon = salons.get(salonId, id -> salonRepository.findTokenEpoch(id).orElse(Long.MAX_VALUE));
+        return salonEpoch >= currentSalon;
+    }
+
+    // The bump is only visible once committed: drop what a concurrent check cached in between
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.coiflow.security;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Copies the submitting thread's salon and security context onto the worker thread
+ * for the duration of the task, then clears them so pooled threads never leak a tenant.
+ */
+public class TenantAwareTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        String salonId = TenantContextHolder.getSalonId();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        return () -> {
+            try {
+                if (salonId != null) {
+                    TenantContextHolder.setSalonId(salonId);
+                }
+                SecurityContextHolder.setContext(securityContext);
+                runnable.run();
+            } finally {
+                TenantContextHolder.clear();
+                SecurityContextHolder.clearContext();
+            }
+        };
+    }
+}
@@ -1,5 +1,9 @@
 package com.coiflow.security;
 
+/**
+ * Current salon of the request thread. The value is a plain ThreadLocal: work handed to
+ * another thread must go through {@link TenantAwareTaskDecorator} to see it.
+ */
 public final class TenantContextHolder {
 
     private static final ThreadLocal<String> CURRENT_SALON_ID = new ThreadLocal<>();
@@ -0,0 +1,206 @@
+package com.coiflow.security;
+
+import com.coiflow.model.user.RevokedAccessToken;
+import com.coiflow.repository.user.RevokedAccessTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Revoked access-token ids (jti) until their expiry. Every request is checked against a Bloom
+ * filter, so the common "not revoked" answer costs a few bit reads; only filter hits consult the
+ * exact set. Expired ids are purged and the filter rebuilt from the remaining ones.
+ * Revocations are stored in revoked_access_tokens: loaded at startup, and pulled from the other
+ * instances every sync interval, which bounds how long a logged-out token works elsewhere.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenDenylist {
+
+    // Covers clock skew between instances and revocations committed after the previous sync read
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedAccessTokenRepository revokedAccessTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${auth.denylist.expected-entries:100000}")
+    private int expectedEntries;
+
+    @Value("${auth.denylist.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    private volatile LocalDateTime lastSync;
+
+    private final LongAdder filterHits = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+        LocalDateTime now = LocalDateTime.now();
+        load(revokedAccessTokenRepository.findUnexpired(now));
+        this.lastSync = now;
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        filterHits.increment();
+        Long expiresAt = revoked.get(tokenId);
+        if (expiresAt == null || expiresAt <= System.currentTimeMillis()) {
+            falsePositives.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Revokes a token until it expires on its own; runs in the caller's transaction, and the local
+     * denylist only takes it once that transaction commits, like the other instances.
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || !expiresAt.isAfter(Instant.now())) return;
+        revokedAccessTokenRepository.save(RevokedAccessToken.builder()
+                .jti(tokenId)
+                .expiresAt(LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()))
+                .revokedAt(LocalDateTime.now())
+                .build());
+        afterCommit(() -> add(tokenId, expiresAt.toEpochMilli()));
+    }
+
+    /** Picks up the tokens revoked on other instances since the previous sync. */
+    @Scheduled(fixedDelayString = "${auth.denylist.sync-interval-ms:5000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            load(revokedAccessTokenRepository.findRevokedSince(lastSync.minus(SYNC_OVERLAP), now));
+            this.lastSync = now;
+        } catch (DataAccessException e) {
+            // Retried from the same point on the next run
+            log.warn("Synchronisation des jetons revoques impossible: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.denylist.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        transactionTemplate.executeWithoutResult(status ->
+                revokedAccessTokenRepository.deleteExpired(LocalDateTime.now()));
+        forgetExpired();
+    }
+
+    private synchronized void add(String tokenId, long expiresAtMillis) {
+        revoked.put(tokenId, expiresAtMillis);
+        filter.put(tokenId);
+    }
+
+    private void load(List<RevokedAccessToken> tokens) {
+        for (RevokedAccessToken token : tokens) {
+            add(token.getJti(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+
+    private synchronized void forgetExpired() {
+        long now = System.currentTimeMillis();
+        if (!revoked.values().removeIf(expiresAt -> expiresAt <= now)) return;
+        // Bloom filters cannot forget: rebuild from the ids still revoked
+        BloomFilter rebuilt = new BloomFilter(expectedEntries, falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        this.filter = rebuilt;
+    }
+
+    // Without a transaction, there is nothing to wait for
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(revoked.size(), filterHits.sum(), falsePositives.sum());
+    }
+
+    public record Stats(int revokedTokens, long filterHits, long falsePositives) {}
+
+    /** Fixed-size Bloom filter over strings, with lock-free reads and writes. */
+    static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomFilter(int expectedEntries, double falsePositiveRate) {
+            int n = Math.max(1, expectedEntries);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bitCount = Math.max(64, m);
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+            this.bits = new AtomicLongArray((int) ((bitCount + 63) / 64));
+        }
+
+        void put(String key) {
+            long hash = hash64(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = bits.get(word);
+                    if ((current & mask) != 0) break;
+                } while (!bits.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String key) {
+            long hash = hash64(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // FNV-1a, 64 bits; the two halves drive double hashing
+        private static long hash64(String key) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < key.length(); i++) {
+                h ^= key.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            return h;
+        }
+    }
+}
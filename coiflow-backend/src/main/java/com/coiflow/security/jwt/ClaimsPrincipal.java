@@ -0,0 +1,34 @@
+package com.coiflow.security.jwt;
+
+import com.coiflow.model.enums.Role;
+import com.coiflow.model.salon.Salon;
+import com.coiflow.model.user.Admin;
+import com.coiflow.model.user.Barber;
+import com.coiflow.model.user.Manager;
+import com.coiflow.model.user.Utilisateur;
+
+/**
+ * Detached user built from access-token claims, for the claims-only auth mode.
+ * Only the fields carried by the token are set; services use it for id, role, names and salon.
+ */
+final class ClaimsPrincipal {
+
+    private ClaimsPrincipal() {}
+
+    static Utilisateur of(VerifiedToken token) {
+        Utilisateur user = switch (Role.valueOf(token.role())) {
+            case ADMIN -> new Admin();
+            case MANAGER -> new Manager();
+            case BARBER -> new Barber();
+        };
+        user.setId(token.userId());
+        user.setEmail(token.email());
+        user.setFirstName(token.firstName());
+        user.setLastName(token.lastName());
+        user.setActive(token.active());
+        if (token.hasSalon()) {
+            user.setSalon(Salon.builder().id(token.salonId()).build());
+        }
+        return user;
+    }
+}
@@ -0,0 +1,38 @@
+package com.coiflow.security.jwt;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+
+/**
+ * Supported access-token signature algorithms (jwt.algorithm).
+ * ES256 and EdDSA mostly buy smaller keys and tokens; RS256 stays the default. Measure sign and
+ * verify cost on the target JDK with JwtSigningBenchmarkTest before switching.
+ */
+public enum JwtAlgorithm {
+    RS256("RSA", Jwts.SIG.RS256),
+    ES256("EC", Jwts.SIG.ES256),
+    EdDSA("Ed25519", Jwts.SIG.EdDSA);
+
+    private final String keyFactoryAlgorithm;
+    private final SignatureAlgorithm signatureAlgorithm;
+
+    JwtAlgorithm(String keyFactoryAlgorithm, SignatureAlgorithm signatureAlgorithm) {
+        this.keyFactoryAlgorithm = keyFactoryAlgorithm;
+        this.signatureAlgorithm = signatureAlgorithm;
+    }
+
+    String keyFactoryAlgorithm() {
+        return keyFactoryAlgorithm;
+    }
+
+    SignatureAlgorithm signatureAlgorithm() {
+        return signatureAlgorithm;
+    }
+
+    public static JwtAlgorithm fromConfig(String value) {
+        for (JwtAlgorithm a : values()) {
+            if (a.name().equalsIgnoreCase(value)) return a;
+        }
+        throw new IllegalArgumentException("Algorithme JWT non supporte: " + value);
+    }
+}
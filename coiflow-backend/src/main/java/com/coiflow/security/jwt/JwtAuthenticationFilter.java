@@ -1,14 +1,16 @@
 package com.coiflow.security.jwt;
 
-import com.coiflow.repository.salon.SalonRepository;
-import com.coiflow.repository.user.UtilisateurRepository;
+import com.coiflow.security.PrincipalCache;
+import com.coiflow.security.RevocationEpochs;
 import com.coiflow.security.TenantContextHolder;
+import com.coiflow.security.TokenDenylist;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -24,9 +26,17 @@ import java.util.Arrays;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /** Request attribute holding the {@link VerifiedToken} of the authenticated request. */
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = "coiflow.verifiedToken";
+
     private final JwtService jwtService;
-    private final UtilisateurRepository utilisateurRepository;
-    private final SalonRepository salonRepository;
+    private final PrincipalCache principalCache;
+    private final RevocationEpochs revocationEpochs;
+    private final TokenDenylist tokenDenylist;
+
+    // Opt-in: authenticate from token claims without loading the user
+    @Value("${auth.claims-only:false}")
+    private boolean claimsOnly;
 
     @Override
     protected void doFilterInternal(
@@ -37,34 +47,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String token = extractToken(request);
 
-            if (token != null && jwtService.isTokenValid(token)) {
-                String userId = jwtService.extractUserId(token);
-                String salonId = jwtService.extractSalonId(token);
-
-                if (SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = utilisateurRepository.findById(userId).orElse(null);
-
-                    if (userDetails != null && userDetails.isEnabled()) {
-                        // Block access if user's salon is inactive
-                        if (salonId != null && !salonId.isEmpty()) {
-                            boolean salonActive = salonRepository.findById(salonId)
-                                    .map(s -> s.isActive())
-                                    .orElse(false);
-                            if (!salonActive) {
-                                filterChain.doFilter(request, response);
-                                return;
-                            }
-                        }
-
-                        UsernamePasswordAuthenticationToken authToken =
-                                new UsernamePasswordAuthenticationToken(
-                                        userDetails, null, userDetails.getAuthorities());
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-
-                        if (salonId != null && !salonId.isEmpty()) {
-                            TenantContextHolder.setSalonId(salonId);
-                        }
+            // One signature verification per request (or none when the token was seen recently)
+            VerifiedToken verified = token != null ? jwtService.verify(token).orElse(null) : null;
+            if (verified != null && tokenDenylist.isRevoked(verified.tokenId())) {
+                verified = null;
+            }
+
+            if (verified != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = claimsOnly ? fromClaims(verified) : fromDatabase(verified);
+
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken authToken =
+                            new UsernamePasswordAuthenticationToken(
+                                    userDetails, null, userDetails.getAuthorities());
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+
+                    request.setAttribute(VERIFIED_TOKEN_ATTRIBUTE, verified);
+
+                    if (verified.hasSalon()) {
+                        TenantContextHolder.setSalonId(verified.salonId());
                     }
                 }
             }
@@ -75,6 +77,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 
+    /** Loads the user (short-TTL cache) and blocks disabled users and inactive salons. */
+    private UserDetails fromDatabase(VerifiedToken verified) {
+        UserDetails userDetails = principalCache.findUser(verified.userId());
+        if (userDetails == null || !userDetails.isEnabled()) {
+            return null;
+        }
+        if (verified.hasSalon() && !principalCache.isSalonActive(verified.salonId())) {
+            return null;
+        }
+        return userDetails;
+    }
+
+    /**
+     * Builds the principal from the token alone. Tokens predating the claims, inactive ones and
+     * ones issued before a revocation of the user or the salon are rejected.
+     */
+    private UserDetails fromClaims(VerifiedToken verified) {
+        if (!verified.isSelfContained() || !verified.active()) {
+            return null;
+        }
+        if (!revocationEpochs.isCurrent(verified.userId(), verified.userEpoch(),
+                verified.salonId(), verified.salonEpoch())) {
+            return null;
+        }
+        return ClaimsPrincipal.of(verified);
+    }
+
     private String extractToken(HttpServletRequest request) {
         // 1. Try HttpOnly cookie first
         if (request.getCookies() != null) {
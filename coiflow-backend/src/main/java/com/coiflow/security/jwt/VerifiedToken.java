@@ -0,0 +1,21 @@
+package com.coiflow.security.jwt;
+
+import java.time.Instant;
+
+/**
+ * Claims of an access token whose signature and expiry have been checked.
+ * The id (jti), name, active and epoch claims are absent (null) from tokens issued before they existed.
+ */
+public record VerifiedToken(String tokenId, String userId, String email, String role, String salonId,
+                            String firstName, String lastName, Boolean active,
+                            Long userEpoch, Long salonEpoch, Instant expiresAt) {
+
+    public boolean hasSalon() {
+        return salonId != null && !salonId.isEmpty();
+    }
+
+    /** Whether the token carries everything needed to authenticate from claims alone. */
+    public boolean isSelfContained() {
+        return role != null && active != null && userEpoch != null && salonEpoch != null;
+    }
+}
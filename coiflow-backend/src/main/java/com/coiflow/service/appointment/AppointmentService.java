@@ -3,9 +3,9 @@ package com.coiflow.service.appointment;
 import com.coiflow.dto.appointment.*;
 import com.coiflow.exception.BusinessException;
 import com.coiflow.exception.ResourceNotFoundException;
+import com.coiflow.model.IdGenerator;
 import com.coiflow.model.appointment.Appointment;
 import com.coiflow.model.appointment.AppointmentServiceItem;
-import com.coiflow.model.catalog.ServiceItem;
 import com.coiflow.model.client.Client;
 import com.coiflow.model.enums.AppointmentStatus;
 import com.coiflow.model.user.Barber;
@@ -15,6 +15,9 @@ import com.coiflow.repository.catalog.ServiceItemRepository;
 import com.coiflow.repository.client.ClientRepository;
 import com.coiflow.repository.user.UtilisateurRepository;
 import com.coiflow.security.TenantContextHolder;
+import com.coiflow.service.catalog.ServiceCatalogCache;
+import com.coiflow.service.catalog.ServiceCatalogCache.ServiceSnapshot;
+import com.coiflow.service.dashboard.RevenueRollupService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -25,7 +28,6 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -35,6 +37,8 @@ public class AppointmentService {
     private final UtilisateurRepository utilisateurRepository;
     private final ClientRepository clientRepository;
     private final ServiceItemRepository serviceItemRepository;
+    private final ServiceCatalogCache serviceCatalogCache;
+    private final RevenueRollupService revenueRollupService;
 
     private String requireSalonId() {
         String salonId = TenantContextHolder.getSalonId();
@@ -61,16 +65,21 @@ public class AppointmentService {
                     .orElseThrow(() -> new ResourceNotFoundException("Client introuvable"));
         }
 
-        // Load services & verify they belong to salon and are active
-        List<ServiceItem> serviceItems = request.getServiceIds().stream()
-                .map(serviceId -> serviceItemRepository.findByIdAndSalon_Id(serviceId, salonId)
-                        .filter(ServiceItem::isActive)
-                        .orElseThrow(() -> new ResourceNotFoundException("Prestation introuvable: " + serviceId)))
+        // Resolve services from the salon's cached catalog (active services only)
+        ServiceCatalogCache.Catalog catalog = serviceCatalogCache.get(salonId);
+        List<ServiceSnapshot> services = request.getServiceIds().stream()
+                .map(serviceId -> {
+                    ServiceSnapshot s = catalog.find(serviceId);
+                    if (s == null) {
+                        throw new ResourceNotFoundException("Prestation introuvable: " + serviceId);
+                    }
+                    return s;
+                })
                 .toList();
 
         // Calculate endTime
-        int totalDuration = serviceItems.stream()
-                .mapToInt(ServiceItem::getDurationMinutes)
+        int totalDuration = services.stream()
+                .mapToInt(ServiceSnapshot::durationMinutes)
                 .sum();
         if (totalDuration <= 0) {
             throw new IllegalArgumentException("La duree totale doit etre superieure a 0");
@@ -86,7 +95,7 @@ public class AppointmentService {
 
         // Create appointment
         Appointment appointment = Appointment.builder()
-                .id(UUID.randomUUID().toString())
+                .id(IdGenerator.newId())
                 .salon(barberUser.getSalon())
                 .barber(barberUser)
                 .client(client)
@@ -96,19 +105,27 @@ public class AppointmentService {
                 .notes(request.getNotes())
                 .build();
 
-        // Create service line items with price snapshot
-        List<AppointmentServiceItem> items = serviceItems.stream()
+        // Create service line items with price snapshot; the service is only referenced, not loaded
+        List<AppointmentServiceItem> items = services.stream()
                 .map(si -> AppointmentServiceItem.builder()
-                        .id(UUID.randomUUID().toString())
+                        .id(IdGenerator.newId())
                         .appointment(appointment)
-                        .service(si)
-                        .priceApplied(si.getPrice())
+                        .service(serviceItemRepository.getReferenceById(si.id()))
+                        .priceApplied(si.price())
                         .build())
                 .toList();
         appointment.getServices().addAll(items);
 
         appointmentRepository.save(appointment);
-        return toResponse(appointment);
+        List<ServiceLineResponse> lines = services.stream()
+                .map(si -> ServiceLineResponse.builder()
+                        .serviceId(si.id())
+                        .serviceName(si.name())
+                        .priceApplied(si.price())
+                        .durationMinutes(si.durationMinutes())
+                        .build())
+                .toList();
+        return toResponse(appointment, lines);
     }
 
     @PreAuthorize("hasAnyRole('MANAGER','BARBER')")
@@ -182,7 +199,14 @@ public class AppointmentService {
         }
 
         a.setStatus(newStatus);
-        return toResponse(appointmentRepository.save(a));
+        Appointment saved = appointmentRepository.save(a);
+        // COMPLETED is terminal, so each visit is counted once
+        if (newStatus == AppointmentStatus.COMPLETED && a.getClient() != null) {
+            // Serialized with a rebuild of the salon's client statistics
+            revenueRollupService.lock(List.of(salonId));
+            clientRepository.recordVisit(a.getClient().getId(), a.getStartTime());
+        }
+        return toResponse(saved);
     }
 
     private AppointmentResponse toResponse(Appointment a) {
@@ -194,7 +218,10 @@ public class AppointmentService {
                         .durationMinutes(si.getService().getDurationMinutes())
                         .build())
                 .toList();
+        return toResponse(a, serviceLines);
+    }
 
+    private AppointmentResponse toResponse(Appointment a, List<ServiceLineResponse> serviceLines) {
         BigDecimal totalPrice = a.getServices().stream()
                 .map(AppointmentServiceItem::getPriceApplied)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
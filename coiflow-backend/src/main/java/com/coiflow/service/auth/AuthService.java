@@ -1,22 +1,30 @@
 package com.coiflow.service.auth;
 
+import com.coiflow.dto.auth.AuthMetricsResponse;
 import com.coiflow.dto.auth.AuthResponse;
 import com.coiflow.dto.auth.LoginRequest;
+import com.coiflow.model.IdGenerator;
 import com.coiflow.model.user.RefreshToken;
 import com.coiflow.model.user.Utilisateur;
 import com.coiflow.repository.user.RefreshTokenRepository;
 import com.coiflow.repository.user.UtilisateurRepository;
 import com.coiflow.security.LoginRateLimiter;
+import com.coiflow.security.PasswordHasher;
+import com.coiflow.security.TokenDenylist;
+import com.coiflow.security.TokenDigest;
 import com.coiflow.security.jwt.JwtService;
+import com.coiflow.security.jwt.VerifiedToken;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -25,47 +33,78 @@ public class AuthService {
     private final UtilisateurRepository utilisateurRepository;
     private final RefreshTokenRepository refreshTokenRepository;
     private final JwtService jwtService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final LoginRateLimiter rateLimiter;
+    private final RefreshTokenPurgeJob refreshTokenPurgeJob;
+    private final TokenDenylist tokenDenylist;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
 
     @Value("${jwt.refresh-token.expiration-days}")
     private long refreshTokenExpirationDays;
 
-    @Transactional
-    public AuthResult login(LoginRequest request) {
+    /**
+     * Verifies the password with no transaction or JDBC connection held: the credentials are
+     * read with one short query, BCrypt then waits on the hashing pool, and a transaction is
+     * opened only to write the refresh token (and an upgraded hash).
+     */
+    public AuthResult login(LoginRequest request, String clientIp) {
         String email = request.getEmail().toLowerCase().trim();
 
-        if (rateLimiter.isBlocked(email)) {
+        if (rateLimiter.isBlocked(email, clientIp)) {
             throw new IllegalStateException("Trop de tentatives. Réessayez dans quelques minutes.");
         }
 
-        Utilisateur user = utilisateurRepository.findByEmail(email)
+        Credentials credentials = findCredentials(email)
                 .orElseThrow(() -> {
-                    rateLimiter.recordFailure(email);
+                    rateLimiter.recordFailure(email, clientIp);
                     return new BadCredentialsException("Email ou mot de passe incorrect");
                 });
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
-            rateLimiter.recordFailure(email);
+        // BCrypt runs on the bounded hashing pool, not on the request thread
+        if (!passwordHasher.matches(request.getPassword(), credentials.passwordHash())) {
+            rateLimiter.recordFailure(email, clientIp);
             throw new BadCredentialsException("Email ou mot de passe incorrect");
         }
 
-        if (!user.isActive()) {
+        if (!credentials.active()) {
             throw new IllegalStateException("Ce compte est désactivé");
         }
 
+        // Rehash at the configured cost when the stored hash is weaker
+        String upgraded = passwordHasher.upgradeIfNeeded(request.getPassword(), credentials.passwordHash());
+
         rateLimiter.recordSuccess(email);
 
-        String accessToken = jwtService.generateAccessToken(
-                user.getId(), user.getEmail(), user.getRole().name(), user.getSalonId());
+        return transactionTemplate.execute(status -> issueTokens(credentials, upgraded));
+    }
+
+    // Plain JDBC outside a transaction: the connection goes back to the pool before hashing,
+    // whereas an EntityManager bound by open-in-view would hold it until the response
+    private Optional<Credentials> findCredentials(String email) {
+        return jdbcTemplate.query(
+                "SELECT id, password_hash, active FROM utilisateur WHERE email = ?",
+                (rs, i) -> new Credentials(rs.getString("id"), rs.getString("password_hash"), rs.getBoolean("active")),
+                email).stream().findFirst();
+    }
+
+    private AuthResult issueTokens(Credentials credentials, String upgradedHash) {
+        Utilisateur user = utilisateurRepository.findById(credentials.userId())
+                .orElseThrow(() -> new BadCredentialsException("Email ou mot de passe incorrect"));
+        // Unless the password was changed in the meantime
+        if (upgradedHash != null && credentials.passwordHash().equals(user.getPasswordHash())) {
+            user.setPasswordHash(upgradedHash);
+        }
+
+        String accessToken = jwtService.generateAccessToken(user, isActive(user));
         String refreshToken = jwtService.generateRefreshToken(user.getId(), user.getEmail());
 
         // Persist refresh token
         refreshTokenRepository.deleteByUserId(user.getId());
         RefreshToken rt = RefreshToken.builder()
-                .id(UUID.randomUUID().toString())
+                .id(IdGenerator.newId())
                 .user(user)
-                .token(refreshToken)
+                .tokenHash(TokenDigest.sha256(refreshToken))
                 .expiresAt(LocalDateTime.now().plusDays(refreshTokenExpirationDays))
                 .build();
         refreshTokenRepository.save(rt);
@@ -88,7 +127,7 @@ public class AuthService {
             throw new BadCredentialsException("Refresh token manquant");
         }
 
-        RefreshToken storedToken = refreshTokenRepository.findByToken(refreshTokenValue)
+        RefreshToken storedToken = refreshTokenRepository.findByTokenHash(TokenDigest.sha256(refreshTokenValue))
                 .orElseThrow(() -> new BadCredentialsException("Refresh token invalide"));
 
         if (storedToken.isExpired()) {
@@ -98,12 +137,11 @@ public class AuthService {
 
         Utilisateur user = storedToken.getUser();
 
-        String newAccessToken = jwtService.generateAccessToken(
-                user.getId(), user.getEmail(), user.getRole().name(), user.getSalonId());
+        String newAccessToken = jwtService.generateAccessToken(user, isActive(user));
         String newRefreshToken = jwtService.generateRefreshToken(user.getId(), user.getEmail());
 
         // Rotate refresh token
-        storedToken.setToken(newRefreshToken);
+        storedToken.setTokenHash(TokenDigest.sha256(newRefreshToken));
         storedToken.setExpiresAt(LocalDateTime.now().plusDays(refreshTokenExpirationDays));
         refreshTokenRepository.save(storedToken);
 
@@ -120,8 +158,27 @@ public class AuthService {
     }
 
     @Transactional
-    public void logout(String userId) {
+    public void logout(String userId, VerifiedToken accessToken) {
         refreshTokenRepository.deleteByUserId(userId);
+        // Only this session's access token stops working, on every auth mode and every instance
+        if (accessToken != null) {
+            tokenDenylist.revoke(accessToken.tokenId(), accessToken.expiresAt());
+        }
+    }
+
+    // Active state embedded in the access token: the account and its salon
+    private boolean isActive(Utilisateur user) {
+        return user.isActive() && (user.getSalon() == null || user.getSalon().isActive());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public AuthMetricsResponse getMetrics() {
+        return AuthMetricsResponse.builder()
+                .loginLimiter(rateLimiter.stats())
+                .passwordHashing(passwordHasher.stats())
+                .refreshTokenPurge(refreshTokenPurgeJob.stats())
+                .tokenDenylist(tokenDenylist.stats())
+                .build();
     }
 
     public AuthResponse me(Utilisateur user) {
@@ -136,4 +193,6 @@ public class AuthService {
     }
 
     public record AuthResult(String accessToken, String refreshToken, AuthResponse user) {}
+
+    private record Credentials(String userId, String passwordHash, boolean active) {}
 }
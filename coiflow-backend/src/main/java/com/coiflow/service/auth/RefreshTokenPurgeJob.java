@@ -0,0 +1,71 @@
+package com.coiflow.service.auth;
+
+import com.coiflow.repository.user.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deletes expired refresh tokens in bounded batches, one short transaction per batch,
+ * so the purge never holds locks on a large range of rows.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenPurgeJob {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${auth.refresh-token-purge.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${auth.refresh-token-purge.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    private final LongAdder totalPurged = new LongAdder();
+    private final LongAdder runs = new LongAdder();
+    private final AtomicLong lastRunPurged = new AtomicLong();
+    private final AtomicLong lastRunMillis = new AtomicLong();
+
+    @Scheduled(fixedDelayString = "${auth.refresh-token-purge.interval-ms:3600000}",
+               initialDelayString = "${auth.refresh-token-purge.initial-delay-ms:60000}")
+    public void purge() {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        long purged = 0;
+
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<String> ids = refreshTokenRepository.findExpiredIds(now, PageRequest.of(0, batchSize));
+                return ids.isEmpty() ? 0 : refreshTokenRepository.deleteByIdIn(ids);
+            });
+            purged += deleted != null ? deleted : 0;
+            if (deleted == null || deleted < batchSize) break;
+        }
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        runs.increment();
+        totalPurged.add(purged);
+        lastRunPurged.set(purged);
+        lastRunMillis.set(millis);
+        if (purged > 0) {
+            log.info("{} refresh tokens expires supprimes en {} ms", purged, millis);
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(runs.sum(), totalPurged.sum(), lastRunPurged.get(), lastRunMillis.get());
+    }
+
+    public record Stats(long runs, long totalPurged, long lastRunPurged, long lastRunMillis) {}
+}
@@ -0,0 +1,152 @@
+package com.coiflow.service.catalog;
+
+import com.coiflow.cache.TtlCache;
+import com.coiflow.model.catalog.ServiceItem;
+import com.coiflow.repository.catalog.ServiceItemRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache of each salon's active services as immutable snapshots, so that catalog
+ * listing and booking validation do not query the database in steady state. Catalog changes
+ * invalidate the salon's snapshot; a load that raced a change is not cached. Changes made on other
+ * instances are found from services.updated_at every sync interval, which bounds how long a price
+ * or a deactivated service stays visible here after it changed elsewhere.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ServiceCatalogCache {
+
+    // Covers clock skew between instances and changes committed after the previous sync read
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final ServiceItemRepository serviceItemRepository;
+
+    @Value("${catalog.cache.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    @Value("${catalog.cache.max-salons:1000}")
+    private int maxSalons;
+
+    private TtlCache<String, Catalog> catalogs;
+    private volatile LocalDateTime lastSync;
+
+    /** Bumped by every invalidation; a snapshot loaded under an older generation is not cached. */
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        this.catalogs = new TtlCache<>(maxSalons, Duration.ofMinutes(ttlMinutes));
+        this.lastSync = LocalDateTime.now();
+    }
+
+    public Catalog get(String salonId) {
+        Catalog catalog = catalogs.getIfPresent(salonId);
+        if (catalog != null) {
+            return catalog;
+        }
+        AtomicLong generation = generation(salonId);
+        long before = generation.get();
+        catalog = Catalog.of(serviceItemRepository.findBySalon_IdAndActive(salonId, true));
+        loads.incrementAndGet();
+        // Checked and cached under the lock that evictions take, so none can slip in between
+        synchronized (generation) {
+            if (generation.get() == before) {
+                catalogs.put(salonId, catalog);
+            }
+        }
+        return catalog;
+    }
+
+    public void invalidate(String salonId) {
+        evict(salonId);
+        afterCommit(() -> evict(salonId));
+    }
+
+    /** Drops the snapshots of salons whose services changed on any instance since the previous sync. */
+    @Scheduled(fixedDelayString = "${catalog.cache.sync-interval-ms:5000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            serviceItemRepository.findSalonIdsChangedSince(lastSync.minus(SYNC_OVERLAP)).forEach(this::evict);
+            this.lastSync = now;
+        } catch (DataAccessException e) {
+            // Retried from the same point on the next run
+            log.warn("Synchronisation du cache des prestations impossible: {}", e.getMessage());
+        }
+    }
+
+    public Stats stats() {
+        long hits = catalogs.hitCount();
+        long misses = catalogs.missCount();
+        double hitRate = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+        return new Stats(catalogs.size(), hits, misses, hitRate, loads.get(), invalidations.get());
+    }
+
+    private void evict(String salonId) {
+        AtomicLong generation = generation(salonId);
+        synchronized (generation) {
+            generation.incrementAndGet();
+            catalogs.invalidate(salonId);
+        }
+        invalidations.incrementAndGet();
+    }
+
+    private AtomicLong generation(String salonId) {
+        return generations.computeIfAbsent(salonId, id -> new AtomicLong());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    public record Stats(long cachedSalons, long hits, long misses, double hitRate, long loads, long invalidations) {}
+
+    public record ServiceSnapshot(String id, String name, int durationMinutes, BigDecimal price, LocalDateTime createdAt) {}
+
+    /** Active services of a salon, by name, with lookup by id. */
+    public record Catalog(List<ServiceSnapshot> services, Map<String, ServiceSnapshot> byId) {
+
+        static Catalog of(List<ServiceItem> items) {
+            List<ServiceSnapshot> services = items.stream()
+                    .map(si -> new ServiceSnapshot(si.getId(), si.getName(), si.getDurationMinutes(),
+                            si.getPrice(), si.getCreatedAt()))
+                    .sorted(Comparator.comparing(ServiceSnapshot::name, String.CASE_INSENSITIVE_ORDER))
+                    .toList();
+            Map<String, ServiceSnapshot> byId = new HashMap<>();
+            services.forEach(s -> byId.put(s.id(), s));
+            return new Catalog(services, Map.copyOf(byId));
+        }
+
+        public ServiceSnapshot find(String serviceId) {
+            return byId.get(serviceId);
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.coiflow.service.catalog;
 
+import com.coiflow.dto.service.BulkUpdateServicesRequest;
 import com.coiflow.dto.service.CreateServiceRequest;
 import com.coiflow.dto.service.ServiceResponse;
 import com.coiflow.dto.service.UpdateServiceRequest;
 import com.coiflow.exception.ResourceNotFoundException;
+import com.coiflow.model.IdGenerator;
 import com.coiflow.model.catalog.ServiceItem;
 import com.coiflow.model.salon.Salon;
 import com.coiflow.repository.catalog.ServiceItemRepository;
@@ -14,8 +16,9 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +26,7 @@ public class ServiceCatalogService {
 
     private final ServiceItemRepository serviceItemRepository;
     private final SalonRepository salonRepository;
+    private final ServiceCatalogCache catalogCache;
 
     private String requireSalonId() {
         String salonId = TenantContextHolder.getSalonId();
@@ -35,12 +39,17 @@ public class ServiceCatalogService {
     @PreAuthorize("hasAnyRole('MANAGER', 'BARBER')")
     public List<ServiceResponse> getServices() {
         String salonId = requireSalonId();
-        return serviceItemRepository.findBySalon_IdAndActive(salonId, true)
+        return catalogCache.get(salonId).services()
                 .stream()
                 .map(this::toResponse)
                 .toList();
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    public ServiceCatalogCache.Stats getCacheMetrics() {
+        return catalogCache.stats();
+    }
+
     @Transactional
     @PreAuthorize("hasRole('MANAGER')")
     public ServiceResponse createService(CreateServiceRequest request) {
@@ -54,7 +63,7 @@ public class ServiceCatalogService {
                 .orElseThrow(() -> new ResourceNotFoundException("Salon introuvable"));
 
         ServiceItem item = ServiceItem.builder()
-                .id(UUID.randomUUID().toString())
+                .id(IdGenerator.newId())
                 .salon(salon)
                 .name(request.getName())
                 .durationMinutes(request.getDurationMinutes())
@@ -63,6 +72,7 @@ public class ServiceCatalogService {
                 .build();
 
         serviceItemRepository.save(item);
+        catalogCache.invalidate(salonId);
         return toResponse(item);
     }
 
@@ -77,7 +87,9 @@ public class ServiceCatalogService {
         item.setDurationMinutes(request.getDurationMinutes());
         item.setPrice(request.getPrice());
 
-        return toResponse(serviceItemRepository.save(item));
+        ServiceItem saved = serviceItemRepository.save(item);
+        catalogCache.invalidate(salonId);
+        return toResponse(saved);
     }
 
     @Transactional
@@ -88,6 +100,60 @@ public class ServiceCatalogService {
                 .orElseThrow(() -> new ResourceNotFoundException("Prestation introuvable"));
         item.setActive(false);
         serviceItemRepository.save(item);
+        catalogCache.invalidate(salonId);
+    }
+
+    /**
+     * Raises or lowers prices (by percentage or amount) and durations across the salon's active
+     * services in one UPDATE. Prices already applied to appointments are snapshots and do not change.
+     */
+    @Transactional
+    @PreAuthorize("hasRole('MANAGER')")
+    public List<ServiceResponse> bulkUpdate(BulkUpdateServicesRequest request) {
+        String salonId = requireSalonId();
+
+        BigDecimal factor = BigDecimal.ONE;
+        BigDecimal delta = BigDecimal.ZERO;
+        if (request.getPriceChange() != null && request.getPriceChange().signum() != 0) {
+            if (request.getPriceMode() == null) {
+                throw new IllegalArgumentException("Le mode de variation du prix est requis");
+            }
+            switch (request.getPriceMode()) {
+                case PERCENTAGE -> factor = BigDecimal.ONE.add(request.getPriceChange().movePointLeft(2));
+                case ABSOLUTE -> delta = request.getPriceChange();
+            }
+        }
+        int durationDelta = request.getDurationChange() != null ? request.getDurationChange() : 0;
+        if (factor.compareTo(BigDecimal.ONE) == 0 && delta.signum() == 0 && durationDelta == 0) {
+            throw new IllegalArgumentException("Aucune modification demandee");
+        }
+
+        boolean allServices = request.getServiceIds() == null || request.getServiceIds().isEmpty();
+        // Placeholder keeps the IN list non-empty when every service is targeted
+        List<String> ids = allServices ? List.of("") : request.getServiceIds();
+
+        if (serviceItemRepository.countOutOfBounds(salonId, allServices, ids, factor, delta, durationDelta) > 0) {
+            throw new IllegalArgumentException(
+                    "La modification donnerait un prix hors limites (0,01 a 99 999 999,99)"
+                    + " ou une duree hors limites (5 a 480 minutes)");
+        }
+        serviceItemRepository.bulkAdjust(salonId, allServices, ids, factor, delta, durationDelta, LocalDateTime.now());
+        catalogCache.invalidate(salonId);
+
+        return serviceItemRepository.findBySalon_IdAndActive(salonId, true).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    private ServiceResponse toResponse(ServiceCatalogCache.ServiceSnapshot s) {
+        return ServiceResponse.builder()
+                .id(s.id())
+                .name(s.name())
+                .durationMinutes(s.durationMinutes())
+                .price(s.price())
+                .active(true)
+                .createdAt(s.createdAt() != null ? s.createdAt().toString() : null)
+                .build();
     }
 
     private ServiceResponse toResponse(ServiceItem item) {
@@ -0,0 +1,350 @@
+package com.coiflow.service.client;
+
+import com.coiflow.dto.client.ClientMergeSuggestionResponse;
+import com.coiflow.dto.client.ClientResponse;
+import com.coiflow.exception.BusinessException;
+import com.coiflow.exception.ResourceNotFoundException;
+import com.coiflow.model.IdGenerator;
+import com.coiflow.model.client.Client;
+import com.coiflow.model.client.ClientMergeSuggestion;
+import com.coiflow.model.enums.MergeSuggestionStatus;
+import com.coiflow.model.salon.Salon;
+import com.coiflow.repository.appointment.AppointmentRepository;
+import com.coiflow.repository.client.ClientMergeSuggestionRepository;
+import com.coiflow.repository.client.ClientRepository;
+import com.coiflow.repository.client.MergeSuggestionRow;
+import com.coiflow.repository.salon.SalonRepository;
+import com.coiflow.security.TenantContextHolder;
+import com.coiflow.service.dashboard.RevenueRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Finds clients created several times in a salon. Each client gets blocking keys (normalized
+ * phone, email, phonetic code of the names) and only clients sharing a key are compared, so the
+ * scan stays near-linear instead of comparing every pair. Likely duplicates become merge
+ * suggestions; a merge moves the duplicate's appointments and statistics to the kept client.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClientDeduplicationService {
+
+    private static final String CANDIDATES_SQL = """
+        SELECT id, first_name, last_name, phone, email, created_at
+        FROM clients
+        WHERE salon_id = ?
+        """;
+
+    private static final double PHONE_WEIGHT = 0.6;
+    private static final double EMAIL_WEIGHT = 0.6;
+    private static final double NAME_WEIGHT = 0.7;
+
+    private final ClientRepository clientRepository;
+    private final ClientMergeSuggestionRepository suggestionRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final SalonRepository salonRepository;
+    private final ClientSearchIndex clientSearchIndex;
+    private final RevenueRollupService revenueRollupService;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${clients.dedup.min-score:0.7}")
+    private double minScore;
+
+    /** Blocks larger than this (a placeholder phone, a very common name) are skipped. */
+    @Value("${clients.dedup.max-block-size:50}")
+    private int maxBlockSize;
+
+    @Value("${clients.dedup.max-suggestions:1000}")
+    private int maxSuggestions;
+
+    private String requireSalonId() {
+        String salonId = TenantContextHolder.getSalonId();
+        if (salonId == null || salonId.isBlank()) {
+            throw new IllegalStateException("Contexte de salon manquant");
+        }
+        return salonId;
+    }
+
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('MANAGER')")
+    public List<ClientMergeSuggestionResponse> getSuggestions() {
+        return suggestionRepository.findPendingRows(requireSalonId()).stream().map(this::toResponse).toList();
+    }
+
+    @PreAuthorize("hasRole('MANAGER')")
+    public List<ClientMergeSuggestionResponse> scan() {
+        String salonId = requireSalonId();
+        detect(salonId);
+        return getSuggestions();
+    }
+
+    @Scheduled(cron = "${clients.dedup.cron:0 0 4 * * *}")
+    public void detectAll() {
+        for (Salon salon : salonRepository.findAll()) {
+            try {
+                detect(salon.getId());
+            } catch (RuntimeException e) {
+                log.error("Detection des doublons clients echouee pour le salon {}", salon.getId(), e);
+            }
+        }
+    }
+
+    /** Replaces the salon's pending suggestions; dismissed pairs are not suggested again. */
+    public int detect(String salonId) {
+        long start = System.nanoTime();
+        List<Candidate> candidates = jdbcTemplate.query(CANDIDATES_SQL, (rs, i) -> Candidate.of(
+                rs.getString("id"), rs.getString("first_name"), rs.getString("last_name"),
+                rs.getString("phone"), rs.getString("email"), rs.getTimestamp("created_at").toLocalDateTime()), salonId);
+
+        Map<String, List<Candidate>> blocks = new HashMap<>();
+        for (Candidate c : candidates) {
+            for (String key : c.blockingKeys()) {
+                blocks.computeIfAbsent(key, k -> new ArrayList<>()).add(c);
+            }
+        }
+
+        Set<String> compared = new HashSet<>();
+        List<Match> matches = new ArrayList<>();
+        long comparisons = 0;
+        for (List<Candidate> block : blocks.values()) {
+            if (block.size() < 2 || block.size() > maxBlockSize) continue;
+            for (int i = 0; i < block.size(); i++) {
+                for (int j = i + 1; j < block.size(); j++) {
+                    Candidate a = block.get(i);
+                    Candidate b = block.get(j);
+                    // A pair sharing several keys is scored once
+                    if (!compared.add(a.id().compareTo(b.id()) < 0 ? a.id() + ":" + b.id() : b.id() + ":" + a.id())) {
+                        continue;
+                    }
+                    comparisons++;
+                    Match m = compare(a, b);
+                    if (m.score() >= minScore) matches.add(m);
+                }
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::score).reversed());
+
+        Integer saved = transactionTemplate.execute(status -> save(salonId, matches));
+        log.info("Doublons clients du salon {}: {} clients, {} comparaisons, {} suggestions en {} ms",
+                salonId, candidates.size(), comparisons, saved, (System.nanoTime() - start) / 1_000_000);
+        return saved != null ? saved : 0;
+    }
+
+    /**
+     * Merges the suggested duplicate into the kept client: appointments are repointed in one
+     * UPDATE, visit statistics and missing contact details are carried over, the duplicate is deleted.
+     */
+    @Transactional
+    @PreAuthorize("hasRole('MANAGER')")
+    public void merge(String suggestionId) {
+        String salonId = requireSalonId();
+        // Visit statistics are written under the salon's rollup lock, like every other stats writer
+        revenueRollupService.lock(List.of(salonId));
+        ClientMergeSuggestion suggestion = pending(suggestionId, salonId);
+
+        Client kept = clientRepository.findByIdAndSalon_Id(suggestion.getClientId(), salonId)
+                .orElseThrow(() -> new ResourceNotFoundException("Client introuvable"));
+        Client duplicate = clientRepository.findByIdAndSalon_Id(suggestion.getDuplicateId(), salonId)
+                .orElseThrow(() -> new ResourceNotFoundException("Client introuvable"));
+
+        if (kept.getPhone() == null) kept.setPhone(duplicate.getPhone());
+        if (kept.getEmail() == null) kept.setEmail(duplicate.getEmail());
+        if (kept.getNotes() == null) kept.setNotes(duplicate.getNotes());
+
+        appointmentRepository.reassignClient(duplicate.getId(), kept.getId());
+        clientRepository.absorbVisits(kept.getId(), duplicate.getVisitCount(),
+                duplicate.getLifetimeSpend(), duplicate.getLastVisitAt());
+
+        suggestion.setStatus(MergeSuggestionStatus.MERGED);
+        suggestion.setResolvedAt(LocalDateTime.now());
+        suggestionRepository.saveAndFlush(suggestion);
+        suggestionRepository.deletePendingInvolving(duplicate.getId());
+
+        clientRepository.delete(duplicate);
+        clientSearchIndex.invalidate(salonId);
+    }
+
+    @Transactional
+    @PreAuthorize("hasRole('MANAGER')")
+    public void dismiss(String suggestionId) {
+        ClientMergeSuggestion suggestion = pending(suggestionId, requireSalonId());
+        suggestion.setStatus(MergeSuggestionStatus.DISMISSED);
+        suggestion.setResolvedAt(LocalDateTime.now());
+        suggestionRepository.save(suggestion);
+    }
+
+    private ClientMergeSuggestion pending(String suggestionId, String salonId) {
+        ClientMergeSuggestion suggestion = suggestionRepository.findByIdAndSalonId(suggestionId, salonId)
+                .orElseThrow(() -> new ResourceNotFoundException("Suggestion introuvable"));
+        if (suggestion.getStatus() != MergeSuggestionStatus.PENDING) {
+            throw new BusinessException("SUGGESTION_RESOLVED", "Cette suggestion a deja ete traitee");
+        }
+        return suggestion;
+    }
+
+    private int save(String salonId, List<Match> matches) {
+        suggestionRepository.deletePendingBySalonId(salonId);
+        Set<String> dismissed = new HashSet<>();
+        for (ClientMergeSuggestion s : suggestionRepository.findBySalonIdAndStatus(salonId, MergeSuggestionStatus.DISMISSED)) {
+            dismissed.add(s.getClientId() + ":" + s.getDuplicateId());
+        }
+
+        Salon salon = salonRepository.getReferenceById(salonId);
+        List<ClientMergeSuggestion> suggestions = matches.stream()
+                .filter(m -> !dismissed.contains(m.kept().id() + ":" + m.duplicate().id()))
+                .limit(maxSuggestions)
+                .map(m -> ClientMergeSuggestion.builder()
+                        .id(IdGenerator.newId())
+                        .salon(salon)
+                        .clientId(m.kept().id())
+                        .duplicateId(m.duplicate().id())
+                        .score(BigDecimal.valueOf(m.score()).setScale(3, RoundingMode.HALF_UP))
+                        .reasons(String.join(",", m.reasons()))
+                        .build())
+                .toList();
+        suggestionRepository.saveAll(suggestions);
+        return suggestions.size();
+    }
+
+    /** The oldest client is kept. */
+    private static Match compare(Candidate a, Candidate b) {
+        List<String> reasons = new ArrayList<>();
+        double score = 0;
+        if (a.phone() != null && a.phone().equals(b.phone())) {
+            reasons.add("PHONE");
+            score += PHONE_WEIGHT;
+        }
+        if (a.email() != null && a.email().equals(b.email())) {
+            reasons.add("EMAIL");
+            score += EMAIL_WEIGHT;
+        }
+        double names = similarity(a.nameGrams(), b.nameGrams());
+        if (names >= 0.5) {
+            reasons.add("NAME");
+        }
+        score = Math.min(1.0, score + NAME_WEIGHT * names);
+
+        boolean aFirst = a.createdAt().isBefore(b.createdAt())
+                || (a.createdAt().equals(b.createdAt()) && a.id().compareTo(b.id()) < 0);
+        return aFirst ? new Match(a, b, score, reasons) : new Match(b, a, score, reasons);
+    }
+
+    // Trigram Jaccard similarity, as the client search ranks names
+    private static double similarity(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) return 0;
+        int shared = 0;
+        for (String gram : a) {
+            if (b.contains(gram)) shared++;
+        }
+        return (double) shared / (a.size() + b.size() - shared);
+    }
+
+    /** Last 9 digits: the same number written with or without its country prefix or leading 0. */
+    static String normalizePhone(String phone) {
+        if (phone == null) return null;
+        String digits = phone.replaceAll("\\D", "");
+        if (digits.length() < 6) return null;
+        return digits.length() > 9 ? digits.substring(digits.length() - 9) : digits;
+    }
+
+    /** American Soundex over the unaccented name: same code for names that sound alike. */
+    static String soundex(String name) {
+        if (name == null) return "";
+        String s = Normalizer.normalize(name, Normalizer.Form.NFD)
+                .replaceAll("[^A-Za-z]", "")
+                .toUpperCase(Locale.ROOT);
+        if (s.isEmpty()) return "";
+
+        StringBuilder code = new StringBuilder().append(s.charAt(0));
+        char previous = soundexDigit(s.charAt(0));
+        for (int i = 1; i < s.length() && code.length() < 4; i++) {
+            char c = s.charAt(i);
+            char digit = soundexDigit(c);
+            if (digit != '0' && digit != previous) {
+                code.append(digit);
+            }
+            // H and W do not separate letters with the same code
+            if (c != 'H' && c != 'W') {
+                previous = digit;
+            }
+        }
+        while (code.length() < 4) code.append('0');
+        return code.toString();
+    }
+
+    private static char soundexDigit(char c) {
+        return switch (c) {
+            case 'B', 'F', 'P', 'V' -> '1';
+            case 'C', 'G', 'J', 'K', 'Q', 'S', 'X', 'Z' -> '2';
+            case 'D', 'T' -> '3';
+            case 'L' -> '4';
+            case 'M', 'N' -> '5';
+            case 'R' -> '6';
+            default -> '0';
+        };
+    }
+
+    private ClientMergeSuggestionResponse toResponse(MergeSuggestionRow r) {
+        return ClientMergeSuggestionResponse.builder()
+                .id(r.getId())
+                .score(r.getScore())
+                .reasons(List.of(r.getReasons().split(",")))
+                .createdAt(r.getCreatedAt() != null ? r.getCreatedAt().toString() : null)
+                .client(ClientResponse.builder()
+                        .id(r.getClientId())
+                        .firstName(r.getClientFirstName())
+                        .lastName(r.getClientLastName())
+                        .phone(r.getClientPhone())
+                        .email(r.getClientEmail())
+                        .build())
+                .duplicate(ClientResponse.builder()
+                        .id(r.getDuplicateId())
+                        .firstName(r.getDuplicateFirstName())
+                        .lastName(r.getDuplicateLastName())
+                        .phone(r.getDuplicatePhone())
+                        .email(r.getDuplicateEmail())
+                        .build())
+                .build();
+    }
+
+    record Candidate(String id, String phone, String email, String firstCode, String lastCode,
+                             Set<String> nameGrams, LocalDateTime createdAt) {
+
+        static Candidate of(String id, String firstName, String lastName, String phone, String email,
+                            LocalDateTime createdAt) {
+            Set<String> grams = ClientSearchIndex.trigrams(firstName);
+            grams.addAll(ClientSearchIndex.trigrams(lastName));
+            return new Candidate(id, normalizePhone(phone),
+                    email == null || email.isBlank() ? null : email.trim().toLowerCase(Locale.ROOT),
+                    soundex(firstName), soundex(lastName), grams, createdAt);
+        }
+
+        List<String> blockingKeys() {
+            List<String> keys = new ArrayList<>(3);
+            if (phone != null) keys.add("p:" + phone);
+            if (email != null) keys.add("e:" + email);
+            if (!firstCode.isEmpty() && !lastCode.isEmpty()) {
+                // Order-independent, so swapped first and last names share the block
+                keys.add(firstCode.compareTo(lastCode) < 0 ? "n:" + firstCode + lastCode : "n:" + lastCode + firstCode);
+            }
+            return keys;
+        }
+    }
+
+    private record Match(Candidate kept, Candidate duplicate, double score, List<String> reasons) {}
+}
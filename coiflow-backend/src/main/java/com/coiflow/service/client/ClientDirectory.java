@@ -0,0 +1,135 @@
+package com.coiflow.service.client;
+
+import com.coiflow.dto.client.ClientPageResponse;
+import com.coiflow.dto.client.ClientResponse;
+import com.coiflow.model.enums.ClientSort;
+import com.coiflow.repository.client.ClientRepository;
+import com.coiflow.repository.client.ClientRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset-paginated client directory. Every sort key is a column of the clients row with its own
+ * (salon_id, key, id) index, so sorting and filtering on visit statistics costs one range scan
+ * and no join. The cursor carries the sort and the key of the previous page's last row.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClientDirectory {
+
+    private static final String CURSOR_SEPARATOR = "\u0000";
+
+    private final ClientRepository clientRepository;
+
+    /** Optional filters on the visit statistics; null fields are ignored. */
+    public record Filter(Integer minVisits, BigDecimal minSpend, LocalDate lastVisitFrom, LocalDate lastVisitTo) {
+
+        public static final Filter NONE = new Filter(null, null, null, null);
+    }
+
+    public ClientPageResponse page(String salonId, ClientSort sort, Filter filter, String cursor, int pageSize) {
+        // One extra row tells whether a next page exists
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        Integer minVisits = filter.minVisits();
+        BigDecimal minSpend = filter.minSpend();
+        LocalDateTime visitedFrom = filter.lastVisitFrom() != null ? filter.lastVisitFrom().atStartOfDay() : null;
+        LocalDateTime visitedBefore = filter.lastVisitTo() != null ? filter.lastVisitTo().plusDays(1).atStartOfDay() : null;
+
+        List<ClientRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = switch (sort) {
+                case NAME -> clientRepository.findDirectoryFirstPageByName(
+                        salonId, minVisits, minSpend, visitedFrom, visitedBefore, limit);
+                case LAST_VISIT -> clientRepository.findDirectoryFirstPageByLastVisit(
+                        salonId, minVisits, minSpend, visitedFrom, visitedBefore, limit);
+                case VISIT_COUNT -> clientRepository.findDirectoryFirstPageByVisitCount(
+                        salonId, minVisits, minSpend, visitedFrom, visitedBefore, limit);
+                case LIFETIME_SPEND -> clientRepository.findDirectoryFirstPageBySpend(
+                        salonId, minVisits, minSpend, visitedFrom, visitedBefore, limit);
+            };
+        } else {
+            String[] key = decodeCursor(cursor, sort);
+            rows = switch (sort) {
+                case NAME -> clientRepository.findDirectoryPageByNameAfter(
+                        salonId, minVisits, minSpend, visitedFrom, visitedBefore,
+                        key[0], key[1], key[2], limit);
+                case LAST_VISIT -> clientRepository.findDirectoryPageByLastVisitAfter(
+                        salonId, minVisits, minSpend, visitedFrom, visitedBefore,
+                        parseKey(key[0], LocalDateTime::parse), key[1], limit);
+                case VISIT_COUNT -> clientRepository.findDirectoryPageByVisitCountAfter(
+                        salonId, minVisits, minSpend, visitedFrom, visitedBefore,
+                        parseKey(key[0], Integer::parseInt), key[1], limit);
+                case LIFETIME_SPEND -> clientRepository.findDirectoryPageBySpendAfter(
+                        salonId, minVisits, minSpend, visitedFrom, visitedBefore,
+                        parseKey(key[0], BigDecimal::new), key[1], limit);
+            };
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<ClientRow> page = hasNext ? rows.subList(0, pageSize) : rows;
+        return ClientPageResponse.builder()
+                .items(page.stream().map(ClientDirectory::toResponse).toList())
+                .nextCursor(hasNext ? encodeCursor(sort, page.get(page.size() - 1)) : null)
+                .build();
+    }
+
+    static String encodeCursor(ClientSort sort, ClientRow last) {
+        String key = switch (sort) {
+            case NAME -> String.join(CURSOR_SEPARATOR, last.getLastName(), last.getFirstName(), last.getId());
+            case LAST_VISIT -> String.join(CURSOR_SEPARATOR, last.getLastVisitAt().toString(), last.getId());
+            case VISIT_COUNT -> String.join(CURSOR_SEPARATOR, String.valueOf(last.getVisitCount()), last.getId());
+            case LIFETIME_SPEND -> String.join(CURSOR_SEPARATOR, last.getLifetimeSpend().toPlainString(), last.getId());
+        };
+        String value = sort.name() + CURSOR_SEPARATOR + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Key parts after the sort name; a cursor issued for another sort is rejected. */
+    static String[] decodeCursor(String cursor, ClientSort sort) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(CURSOR_SEPARATOR, -1);
+            int keyLength = sort == ClientSort.NAME ? 3 : 2;
+            if (parts.length == keyLength + 1 && sort.name().equals(parts[0])) {
+                String[] key = new String[keyLength];
+                System.arraycopy(parts, 1, key, 0, keyLength);
+                return key;
+            }
+        } catch (IllegalArgumentException e) {
+            // fall through
+        }
+        throw new IllegalArgumentException("Curseur de pagination invalide");
+    }
+
+    private static <T> T parseKey(String value, Function<String, T> parser) {
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Curseur de pagination invalide");
+        }
+    }
+
+    private static ClientResponse toResponse(ClientRow c) {
+        return ClientResponse.builder()
+                .id(c.getId())
+                .firstName(c.getFirstName())
+                .lastName(c.getLastName())
+                .phone(c.getPhone())
+                .email(c.getEmail())
+                .notes(c.getNotes())
+                .createdAt(c.getCreatedAt() != null ? c.getCreatedAt().toString() : null)
+                .lastVisitAt(c.getLastVisitAt() != null ? c.getLastVisitAt().toString() : null)
+                .visitCount(c.getVisitCount())
+                .lifetimeSpend(c.getLifetimeSpend())
+                .build();
+    }
+}
@@ -0,0 +1,402 @@
+package com.coiflow.service.client;
+
+import com.coiflow.dto.client.ClientImportError;
+import com.coiflow.dto.client.ClientImportResponse;
+import com.coiflow.exception.BusinessException;
+import com.coiflow.exception.ResourceNotFoundException;
+import com.coiflow.model.IdGenerator;
+import com.coiflow.repository.salon.SalonRepository;
+import com.coiflow.security.TenantContextHolder;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Imports a salon's clients from a CSV file. The file is read record by record, each row is
+ * validated and checked against the phones and emails already known for the salon, and valid
+ * rows are inserted in JDBC batches, each committed on its own. Only the current batch and the
+ * contact keys are held in memory; progress can be read while the import runs.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClientImportService {
+
+    private static final String CONTACTS_SQL = "SELECT phone, email FROM clients WHERE salon_id = ?";
+
+    private static final String INSERT_SQL = """
+        INSERT INTO clients (id, salon_id, first_name, last_name, phone, email, notes, created_at, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    // Accepted header names, English or French, without accents
+    private static final Map<String, String> COLUMNS = Map.ofEntries(
+            Map.entry("firstname", "firstName"), Map.entry("prenom", "firstName"),
+            Map.entry("lastname", "lastName"), Map.entry("nom", "lastName"),
+            Map.entry("phone", "phone"), Map.entry("telephone", "phone"),
+            Map.entry("email", "email"), Map.entry("mail", "email"),
+            Map.entry("notes", "notes"), Map.entry("note", "notes"));
+
+    private final SalonRepository salonRepository;
+    private final ClientSearchIndex clientSearchIndex;
+    private final PlatformTransactionManager transactionManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${clients.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${clients.import.max-errors:200}")
+    private int maxErrors;
+
+    private TransactionTemplate batchTx;
+
+    /** One running import per salon. */
+    private final Map<String, Progress> running = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        this.batchTx = new TransactionTemplate(transactionManager);
+    }
+
+    private String requireSalonId() {
+        String salonId = TenantContextHolder.getSalonId();
+        if (salonId == null || salonId.isBlank()) {
+            throw new IllegalStateException("Contexte de salon manquant");
+        }
+        return salonId;
+    }
+
+    @PreAuthorize("hasRole('MANAGER')")
+    public ClientImportResponse importCsv(InputStream input) {
+        String salonId = requireSalonId();
+        if (!salonRepository.existsById(salonId)) {
+            throw new ResourceNotFoundException("Salon introuvable");
+        }
+
+        Progress progress = new Progress();
+        if (running.putIfAbsent(salonId, progress) != null) {
+            throw new BusinessException("IMPORT_RUNNING", "Un import de clients est deja en cours pour ce salon");
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            run(salonId, reader, progress);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Fichier CSV illisible");
+        } finally {
+            running.remove(salonId);
+            // Rows were inserted behind the index's back
+            if (progress.imported > 0) {
+                clientSearchIndex.invalidate(salonId);
+            }
+        }
+        log.info("Import de clients termine pour le salon {}: {} importes, {} doublons, {} rejetes",
+                salonId, progress.imported, progress.duplicates, progress.rejected);
+        return progress.toResponse(false);
+    }
+
+    @PreAuthorize("hasRole('MANAGER')")
+    public ClientImportResponse getProgress() {
+        Progress progress = running.get(requireSalonId());
+        if (progress == null) {
+            throw new ResourceNotFoundException("Aucun import de clients en cours");
+        }
+        return progress.toResponse(true);
+    }
+
+    private void run(String salonId, BufferedReader reader, Progress progress) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new IllegalArgumentException("Fichier CSV vide");
+        }
+        Map<String, Integer> columns = mapHeader(header);
+
+        Set<String> known = loadContactKeys(salonId);
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            long line = csv.recordLine();
+            if (csv.recordError() != null) {
+                progress.processed++;
+                progress.reject(line, csv.recordError(), maxErrors);
+                continue;
+            }
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            progress.processed++;
+
+            Row row = Row.of(record, columns);
+            String error = row.validate();
+            if (error != null) {
+                progress.reject(line, error, maxErrors);
+                continue;
+            }
+
+            String phoneKey = phoneKey(row.phone);
+            String emailKey = emailKey(row.email);
+            if ((phoneKey != null && known.contains(phoneKey)) || (emailKey != null && known.contains(emailKey))) {
+                progress.duplicate(line, maxErrors);
+                continue;
+            }
+            if (phoneKey != null) known.add(phoneKey);
+            if (emailKey != null) known.add(emailKey);
+
+            batch.add(row.toParams(salonId));
+            if (batch.size() >= batchSize) {
+                flush(batch, progress);
+            }
+        }
+        flush(batch, progress);
+    }
+
+    private void flush(List<Object[]> batch, Progress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        batchTx.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch));
+        progress.imported += batch.size();
+        log.debug("Import de clients: {} lignes traitees, {} importees", progress.processed, progress.imported);
+        batch.clear();
+    }
+
+    /** Normalized phones and emails of the salon's clients, the keys duplicates are detected on. */
+    private Set<String> loadContactKeys(String salonId) {
+        Set<String> keys = new HashSet<>();
+        jdbcTemplate.query(CONTACTS_SQL, rs -> {
+            String phone = phoneKey(rs.getString(1));
+            String email = emailKey(rs.getString(2));
+            if (phone != null) keys.add(phone);
+            if (email != null) keys.add(email);
+        }, salonId);
+        return keys;
+    }
+
+    private static Map<String, Integer> mapHeader(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").replaceAll("[\\s_-]", "").toLowerCase(Locale.ROOT);
+            String field = COLUMNS.get(name);
+            if (field != null) {
+                columns.putIfAbsent(field, i);
+            }
+        }
+        if (!columns.containsKey("firstName") || !columns.containsKey("lastName")) {
+            throw new IllegalArgumentException("Les colonnes prenom et nom sont requises");
+        }
+        return columns;
+    }
+
+    private static String phoneKey(String phone) {
+        if (phone == null) return null;
+        String digits = phone.replaceAll("\\D", "");
+        return digits.isEmpty() ? null : "phone:" + digits;
+    }
+
+    private static String emailKey(String email) {
+        if (email == null || email.isBlank()) return null;
+        return "email:" + email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Row(String firstName, String lastName, String phone, String email, String notes) {
+
+        static Row of(List<String> record, Map<String, Integer> columns) {
+            return new Row(field(record, columns, "firstName"), field(record, columns, "lastName"),
+                    field(record, columns, "phone"), field(record, columns, "email"), field(record, columns, "notes"));
+        }
+
+        private static String field(List<String> record, Map<String, Integer> columns, String name) {
+            Integer i = columns.get(name);
+            if (i == null || i >= record.size()) return null;
+            String value = record.get(i).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        /** Same rules as CreateClientRequest. */
+        String validate() {
+            if (firstName == null) return "Le prenom est requis";
+            if (lastName == null) return "Le nom est requis";
+            if (firstName.length() > 50) return "Prenom trop long (50 caracteres max)";
+            if (lastName.length() > 50) return "Nom trop long (50 caracteres max)";
+            if (phone != null && phone.length() > 20) return "Telephone trop long (20 caracteres max)";
+            if (email != null && (email.length() > 100 || !EMAIL.matcher(email).matches())) return "Format d'email invalide";
+            if (notes != null && notes.length() > 500) return "Notes trop longues (500 caracteres max)";
+            return null;
+        }
+
+        Object[] toParams(String salonId) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            return new Object[] {IdGenerator.newId(), salonId, firstName, lastName, phone, email, notes, now, now};
+        }
+    }
+
+    /** Counters of one import; written by the importing thread, read by progress requests. */
+    private static final class Progress {
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final List<ClientImportError> errors = Collections.synchronizedList(new ArrayList<>());
+        private volatile long processed;
+        private volatile long imported;
+        private volatile long duplicates;
+        private volatile long rejected;
+        private volatile boolean truncated;
+
+        void reject(long line, String message, int maxErrors) {
+            rejected++;
+            addError(line, message, maxErrors);
+        }
+
+        void duplicate(long line, int maxErrors) {
+            duplicates++;
+            addError(line, "Doublon: telephone ou email deja connu", maxErrors);
+        }
+
+        private void addError(long line, String message, int maxErrors) {
+            if (errors.size() < maxErrors) {
+                errors.add(ClientImportError.builder().line(line).message(message).build());
+            } else {
+                truncated = true;
+            }
+        }
+
+        ClientImportResponse toResponse(boolean stillRunning) {
+            List<ClientImportError> snapshot;
+            synchronized (errors) {
+                snapshot = List.copyOf(errors);
+            }
+            return ClientImportResponse.builder()
+                    .running(stillRunning)
+                    .processedRows(processed)
+                    .importedCount(imported)
+                    .duplicateCount(duplicates)
+                    .rejectedCount(rejected)
+                    .errors(snapshot)
+                    .errorsTruncated(truncated)
+                    .startedAt(startedAt.toString())
+                    .build();
+        }
+    }
+
+    /**
+     * Minimal RFC 4180 reader: comma or semicolon separator (taken from the header line),
+     * double-quoted fields with "" escapes and embedded line breaks.
+     * A field longer than {@link #MAX_FIELD_LENGTH} or a quote still open at the end of the file
+     * ends its record as an error; reading resumes at the line after the record's first one.
+     */
+    static final class CsvReader {
+
+        /** Notes are capped at 500 characters; the margin covers escapes and line breaks. */
+        static final int MAX_FIELD_LENGTH = 1000;
+
+        private final BufferedReader reader;
+        private final Deque<String> pushedBack = new ArrayDeque<>();
+        private char separator;
+        private long line;
+        private long recordLine;
+        private String recordError;
+
+        CsvReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        long recordLine() {
+            return recordLine;
+        }
+
+        /** Why the last record could not be read (its fields are then empty), or null. */
+        String recordError() {
+            return recordError;
+        }
+
+        List<String> next() throws IOException {
+            String text = readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+            recordLine = line;
+            recordError = null;
+            if (separator == 0) {
+                separator = text.indexOf(';') >= 0 && text.indexOf(',') < 0 ? ';' : ',';
+            }
+
+            List<String> fields = new ArrayList<>();
+            List<String> continuation = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (field.length() > MAX_FIELD_LENGTH) {
+                    return skip(continuation, "Champ trop long (" + MAX_FIELD_LENGTH + " caracteres max)"
+                            + (quoted ? ", guillemet non ferme ?" : ""));
+                }
+                if (i == text.length()) {
+                    if (!quoted) break;
+                    // Line break inside a quoted field
+                    text = readLine();
+                    if (text == null) {
+                        return skip(continuation, "Guillemet non ferme");
+                    }
+                    continuation.add(text);
+                    line++;
+                    field.append('\n');
+                    i = 0;
+                    continue;
+                }
+                char c = text.charAt(i++);
+                if (quoted) {
+                    if (c == '"') {
+                        if (i < text.length() && text.charAt(i) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == separator) {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        // The lines the record ran over are read again, as records of their own
+        private List<String> skip(List<String> continuation, String error) {
+            for (int k = continuation.size() - 1; k >= 0; k--) {
+                pushedBack.push(continuation.get(k));
+            }
+            line = recordLine;
+            recordError = error;
+            return List.of();
+        }
+
+        private String readLine() throws IOException {
+            return pushedBack.isEmpty() ? reader.readLine() : pushedBack.pop();
+        }
+    }
+}
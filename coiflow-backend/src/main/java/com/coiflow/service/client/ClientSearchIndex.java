@@ -0,0 +1,291 @@
+package com.coiflow.service.client;
+
+import com.coiflow.cache.TtlCache;
+import com.coiflow.repository.client.ClientRepository;
+import com.coiflow.repository.client.ClientSearchRow;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram index of each salon's clients over first name, last name and phone.
+ * Each query word is matched against the client's closest word by the share of its trigrams
+ * it contains (like pg_trgm's word_similarity), so prefixes, inner parts of a name, typos and
+ * any field order still find the client. A salon's index is built from the database on first
+ * search and kept current by client creations and updates; a build that raced one of them is
+ * not cached.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClientSearchIndex {
+
+    /** Average share of each query word's trigrams found in the client's closest word. */
+    static final double MIN_SCORE = 0.6;
+
+    /** Digits with the usual phone separators, e.g. "06 12 34 56 78" or "+213 (0)5-55". */
+    private static final Pattern PHONE_QUERY = Pattern.compile("[\\d\\s+().-]*\\d[\\d\\s+().-]*");
+
+    private final ClientRepository clientRepository;
+
+    @Value("${clients.search.max-salons:200}")
+    private int maxSalons;
+
+    @Value("${clients.search.index-ttl-minutes:60}")
+    private long indexTtlMinutes;
+
+    private TtlCache<String, SalonIndex> indexes;
+
+    /** Bumped by every change applied after commit; a build that saw a change in flight is not cached. */
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        this.indexes = new TtlCache<>(maxSalons, Duration.ofMinutes(indexTtlMinutes));
+    }
+
+    /** Ids of the best matches, best first. */
+    public List<String> search(String salonId, String query, int limit) {
+        List<QueryWord> words = parseQuery(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        return index(salonId).search(words, limit);
+    }
+
+    /** Indexes a created or updated client once the change is committed. */
+    public void upsert(String salonId, String clientId, String firstName, String lastName, String phone) {
+        afterCommit(() -> {
+            AtomicLong generation = generation(salonId);
+            synchronized (generation) {
+                generation.incrementAndGet();
+                SalonIndex index = indexes.getIfPresent(salonId);
+                if (index != null) {
+                    index.put(clientId, document(firstName, lastName, phone));
+                }
+            }
+        });
+    }
+
+    /** Drops a salon's index once the change is committed; it is rebuilt on the next search. */
+    public void invalidate(String salonId) {
+        afterCommit(() -> {
+            AtomicLong generation = generation(salonId);
+            synchronized (generation) {
+                generation.incrementAndGet();
+                indexes.invalidate(salonId);
+            }
+        });
+    }
+
+    private SalonIndex index(String salonId) {
+        SalonIndex index = indexes.getIfPresent(salonId);
+        if (index != null) {
+            return index;
+        }
+        AtomicLong generation = generation(salonId);
+        long before = generation.get();
+        index = build(salonId);
+        // Checked and cached under the lock that upserts take, so none can slip in between
+        synchronized (generation) {
+            if (generation.get() == before) {
+                indexes.put(salonId, index);
+            }
+        }
+        return index;
+    }
+
+    private AtomicLong generation(String salonId) {
+        return generations.computeIfAbsent(salonId, id -> new AtomicLong());
+    }
+
+    private SalonIndex build(String salonId) {
+        SalonIndex index = new SalonIndex();
+        for (ClientSearchRow row : clientRepository.findSearchRowsBySalonId(salonId)) {
+            index.put(row.getId(), document(row.getFirstName(), row.getLastName(), row.getPhone()));
+        }
+        return index;
+    }
+
+    /** Trigram set of each word of a client's names and phone digits. */
+    static List<Set<String>> document(String firstName, String lastName, String phone) {
+        List<Set<String>> words = new ArrayList<>();
+        for (String word : words(firstName)) words.add(wordTrigrams("  " + word + " "));
+        for (String word : words(lastName)) words.add(wordTrigrams("  " + word + " "));
+        if (phone != null) {
+            for (String word : words(phone.replaceAll("\\D", ""))) words.add(wordTrigrams("  " + word + " "));
+        }
+        return words;
+    }
+
+    /** Trigrams of each word, padded like pg_trgm ("  a", " ab", "abc", "bc ") so prefixes match. */
+    static Set<String> trigrams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (String word : words(text)) {
+            grams.addAll(wordTrigrams("  " + word + " "));
+        }
+        return grams;
+    }
+
+    /**
+     * Query words with two trigram sets: anchored to the word start, which tolerates typos, and
+     * unanchored, which finds an inner part ("pont" in "Dupont"). The last word may still be
+     * typed, so it is not anchored to a word end. A phone number is searched as its digits.
+     */
+    static List<QueryWord> parseQuery(String query) {
+        if (query != null && PHONE_QUERY.matcher(query).matches()) {
+            query = query.replaceAll("\\D", "");
+        }
+        List<String> words = words(query);
+        List<QueryWord> parsed = new ArrayList<>(words.size());
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            String end = i < words.size() - 1 ? " " : "";
+            Set<String> anchored = wordTrigrams("  " + word + end);
+            // Too short for a trigram of its own: only the anchored form exists
+            Set<String> unanchored = word.length() < 3 ? anchored : wordTrigrams(word + end);
+            parsed.add(new QueryWord(anchored, unanchored));
+        }
+        return parsed;
+    }
+
+    private static List<String> words(String text) {
+        if (text == null) return List.of();
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(normalized.split("[^a-z0-9]+"))
+                .filter(w -> !w.isEmpty())
+                .toList();
+    }
+
+    private static Set<String> wordTrigrams(String padded) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    record QueryWord(Set<String> anchored, Set<String> unanchored) {
+
+        /** Share of this word's trigrams found in the given document word, the better of both forms. */
+        double coverage(Set<String> documentWord) {
+            return Math.max(share(anchored, documentWord), share(unanchored, documentWord));
+        }
+
+        private static double share(Set<String> grams, Set<String> documentWord) {
+            if (grams.isEmpty()) return 0;
+            int shared = 0;
+            for (String gram : grams) {
+                if (documentWord.contains(gram)) shared++;
+            }
+            return (double) shared / grams.size();
+        }
+    }
+
+    /** Posting lists (trigram -> client ids) plus each client's words. */
+    static final class SalonIndex {
+
+        private final Map<String, Set<String>> postings = new ConcurrentHashMap<>();
+        private final Map<String, List<Set<String>>> documents = new ConcurrentHashMap<>();
+
+        synchronized void put(String clientId, List<Set<String>> words) {
+            List<Set<String>> previous = documents.put(clientId, words.stream().map(Set::copyOf).toList());
+            if (previous != null) {
+                for (Set<String> word : previous) {
+                    for (String gram : word) {
+                        Set<String> ids = postings.get(gram);
+                        if (ids != null) ids.remove(clientId);
+                    }
+                }
+            }
+            for (Set<String> word : words) {
+                for (String gram : word) {
+                    postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(clientId);
+                }
+            }
+        }
+
+        List<String> search(List<QueryWord> query, int limit) {
+            // Candidates share at least one trigram with the query
+            Set<String> candidates = new HashSet<>();
+            for (QueryWord word : query) {
+                for (Set<String> grams : List.of(word.anchored(), word.unanchored())) {
+                    for (String gram : grams) {
+                        Set<String> ids = postings.get(gram);
+                        if (ids != null) candidates.addAll(ids);
+                    }
+                }
+            }
+
+            // Bounded min-heap: O(n log k) over the candidates
+            PriorityQueue<Match> heap = new PriorityQueue<>(limit + 1);
+            for (String id : candidates) {
+                List<Set<String>> doc = documents.get(id);
+                if (doc == null) continue;
+                double score = score(query, doc);
+                if (score < MIN_SCORE) continue;
+                Match match = new Match(id, score, doc.size());
+                if (heap.size() < limit) {
+                    heap.offer(match);
+                } else if (match.compareTo(heap.peek()) > 0) {
+                    heap.poll();
+                    heap.offer(match);
+                }
+            }
+
+            List<String> best = new ArrayList<>(heap.size());
+            while (!heap.isEmpty()) {
+                best.add(heap.poll().id());
+            }
+            Collections.reverse(best);
+            return best;
+        }
+
+        private static double score(List<QueryWord> query, List<Set<String>> doc) {
+            double total = 0;
+            for (QueryWord word : query) {
+                double best = 0;
+                for (Set<String> documentWord : doc) {
+                    best = Math.max(best, word.coverage(documentWord));
+                }
+                total += best;
+            }
+            return total / query.size();
+        }
+    }
+
+    // Ascending: weakest first in the heap; equal scores prefer fewer words, then the id for a stable order
+    private record Match(String id, double score, int words) implements Comparable<Match> {
+        @Override
+        public int compareTo(Match other) {
+            int byScore = Double.compare(score, other.score);
+            if (byScore != 0) return byScore;
+            int byWords = Integer.compare(other.words, words);
+            return byWords != 0 ? byWords : other.id.compareTo(id);
+        }
+    }
+}
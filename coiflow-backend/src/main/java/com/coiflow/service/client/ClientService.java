@@ -1,10 +1,13 @@
 package com.coiflow.service.client;
 
+import com.coiflow.dto.client.ClientPageResponse;
 import com.coiflow.dto.client.ClientResponse;
 import com.coiflow.dto.client.CreateClientRequest;
 import com.coiflow.dto.client.UpdateClientRequest;
 import com.coiflow.exception.ResourceNotFoundException;
+import com.coiflow.model.IdGenerator;
 import com.coiflow.model.client.Client;
+import com.coiflow.model.enums.ClientSort;
 import com.coiflow.model.salon.Salon;
 import com.coiflow.repository.client.ClientRepository;
 import com.coiflow.repository.salon.SalonRepository;
@@ -14,15 +17,23 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 public class ClientService {
 
+    private static final int MAX_SEARCH_LIMIT = 50;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ClientRepository clientRepository;
     private final SalonRepository salonRepository;
+    private final ClientSearchIndex clientSearchIndex;
+    private final ClientDirectory clientDirectory;
+    private final ClientStatsRebuildJob clientStatsRebuildJob;
 
     private String requireSalonId() {
         String salonId = TenantContextHolder.getSalonId();
@@ -33,12 +44,41 @@ public class ClientService {
     }
 
     @PreAuthorize("hasAnyRole('MANAGER', 'BARBER')")
-    public List<ClientResponse> getClients(String search) {
+    public List<ClientResponse> getClients(String search, int limit) {
         String salonId = requireSalonId();
-        List<Client> clients = (search != null && !search.isBlank())
-                ? clientRepository.findBySalon_IdAndLastNameContainingIgnoreCase(salonId, search.trim())
-                : clientRepository.findBySalon_Id(salonId);
-        return clients.stream().map(this::toResponse).toList();
+        if (search == null || search.isBlank()) {
+            return clientDirectory.page(salonId, ClientSort.NAME, ClientDirectory.Filter.NONE, null, pageSize(limit))
+                    .getItems();
+        }
+
+        // Ranked ids from the trigram index, then one primary-key lookup
+        List<String> ids = clientSearchIndex.search(salonId, search, Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT)));
+        Map<String, Client> byId = new HashMap<>();
+        for (Client c : clientRepository.findAllById(ids)) {
+            if (salonId.equals(c.getSalon().getId())) {
+                byId.put(c.getId(), c);
+            }
+        }
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(this::toResponse)
+                .toList();
+    }
+
+    /**
+     * Directory page, by name or by visit statistics. The cursor carries the sort key of the
+     * previous page's last row, so each page is one index range scan whatever the salon size.
+     */
+    @PreAuthorize("hasAnyRole('MANAGER', 'BARBER')")
+    public ClientPageResponse getDirectory(String cursor, int size, ClientSort sort, ClientDirectory.Filter filter) {
+        return clientDirectory.page(requireSalonId(), sort, filter, cursor, pageSize(size));
+    }
+
+    /** Recomputes the salon's visit statistics now instead of waiting for the nightly job. */
+    @PreAuthorize("hasRole('MANAGER')")
+    public void rebuildStats() {
+        clientStatsRebuildJob.rebuild(requireSalonId());
     }
 
     @Transactional
@@ -50,7 +90,7 @@ public class ClientService {
                 .orElseThrow(() -> new ResourceNotFoundException("Salon introuvable"));
 
         Client client = Client.builder()
-                .id(UUID.randomUUID().toString())
+                .id(IdGenerator.newId())
                 .salon(salon)
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
@@ -60,6 +100,7 @@ public class ClientService {
                 .build();
 
         clientRepository.save(client);
+        clientSearchIndex.upsert(salonId, client.getId(), client.getFirstName(), client.getLastName(), client.getPhone());
         return toResponse(client);
     }
 
@@ -76,7 +117,13 @@ public class ClientService {
         client.setEmail(request.getEmail());
         client.setNotes(request.getNotes());
 
-        return toResponse(clientRepository.save(client));
+        Client saved = clientRepository.save(client);
+        clientSearchIndex.upsert(salonId, id, saved.getFirstName(), saved.getLastName(), saved.getPhone());
+        return toResponse(saved);
+    }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
     }
 
     private ClientResponse toResponse(Client client) {
@@ -88,6 +135,9 @@ public class ClientService {
                 .email(client.getEmail())
                 .notes(client.getNotes())
                 .createdAt(client.getCreatedAt() != null ? client.getCreatedAt().toString() : null)
+                .lastVisitAt(client.getLastVisitAt() != null ? client.getLastVisitAt().toString() : null)
+                .visitCount(client.getVisitCount())
+                .lifetimeSpend(client.getLifetimeSpend())
                 .build();
     }
 }
@@ -0,0 +1,52 @@
+package com.coiflow.service.client;
+
+import com.coiflow.model.salon.Salon;
+import com.coiflow.repository.client.ClientRepository;
+import com.coiflow.repository.salon.SalonRepository;
+import com.coiflow.service.dashboard.RevenueRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Recomputes the denormalized client visit statistics from appointments and transactions,
+ * one set-based UPDATE per salon, to repair any drift of the incremental updates.
+ * The salon's rollup lock is taken first, as by every writer of the statistics: a visit or spend
+ * delta committed during the UPDATE would otherwise be overwritten by its older snapshot.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClientStatsRebuildJob {
+
+    private final ClientRepository clientRepository;
+    private final SalonRepository salonRepository;
+    private final RevenueRollupService revenueRollupService;
+    private final TransactionTemplate transactionTemplate;
+
+    public int rebuild(String salonId) {
+        Integer updated = transactionTemplate.execute(status -> {
+            revenueRollupService.lock(List.of(salonId));
+            return clientRepository.rebuildVisitStats(salonId);
+        });
+        return updated != null ? updated : 0;
+    }
+
+    @Scheduled(cron = "${clients.stats.rebuild-cron:0 30 3 * * *}")
+    public void rebuildAll() {
+        long start = System.nanoTime();
+        int clients = 0;
+        for (Salon salon : salonRepository.findAll()) {
+            try {
+                clients += rebuild(salon.getId());
+            } catch (RuntimeException e) {
+                log.error("Reconstruction des statistiques clients echouee pour le salon {}", salon.getId(), e);
+            }
+        }
+        log.info("Statistiques de {} clients reconstruites en {} ms", clients, (System.nanoTime() - start) / 1_000_000);
+    }
+}
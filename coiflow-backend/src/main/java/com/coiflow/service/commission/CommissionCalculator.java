@@ -0,0 +1,22 @@
+package com.coiflow.service.commission;
+
+import com.coiflow.model.user.Barber;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Commission arithmetic shared by cashing and recalculation: rate in percent, amount rounded HALF_UP to cents.
+ */
+public final class CommissionCalculator {
+
+    private CommissionCalculator() {}
+
+    public static BigDecimal rateOf(Barber barber) {
+        return barber.getCommissionRate() != null ? barber.getCommissionRate() : BigDecimal.ZERO;
+    }
+
+    public static BigDecimal amount(BigDecimal totalAmount, BigDecimal rate) {
+        return totalAmount.multiply(rate).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,355 @@
+package com.coiflow.service.commission;
+
+import com.coiflow.dto.commission.CommissionRecalculationResponse;
+import com.coiflow.dto.commission.RecalculateCommissionsRequest;
+import com.coiflow.exception.BusinessException;
+import com.coiflow.exception.ResourceNotFoundException;
+import com.coiflow.exception.ServiceUnavailableException;
+import com.coiflow.model.IdGenerator;
+import com.coiflow.model.commission.CommissionRecalculation;
+import com.coiflow.model.enums.RecalculationStatus;
+import com.coiflow.model.user.Barber;
+import com.coiflow.model.user.Utilisateur;
+import com.coiflow.repository.commission.CommissionPeriodRepository;
+import com.coiflow.repository.commission.CommissionRecalculationRepository;
+import com.coiflow.repository.commission.CommissionRepository;
+import com.coiflow.repository.salon.SalonRepository;
+import com.coiflow.repository.user.UtilisateurRepository;
+import com.coiflow.security.TenantContextHolder;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Recomputes a barber's commissions for a period after a rate correction.
+ * Commissions are streamed through a forward-only cursor and corrected in chunks, each chunk
+ * committed together with the job checkpoint, so a failed or interrupted job resumes where it stopped.
+ * A job is owned by the instance that runs it and kept alive by its heartbeat; jobs whose owner
+ * stopped beating are failed, by any instance, so that they can be resumed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommissionRecalculationService {
+
+    // (period_start, id) keyset after the checkpoint; served by idx_commission_barber_period
+    private static final String SCAN_SQL = """
+        SELECT c.id, c.period_start, c.rate_applied, c.amount, t.total_amount
+        FROM commissions c
+        JOIN transactions t ON t.id = c.transaction_id
+        WHERE c.salon_id = ? AND c.barber_id = ?
+          AND c.period_start >= ? AND c.period_start <= ?
+          AND (c.period_start > ? OR (c.period_start = ? AND c.id > ?))
+        ORDER BY c.period_start, c.id
+        """;
+
+    private static final String UPDATE_SQL = "UPDATE commissions SET rate_applied = ?, amount = ? WHERE id = ?";
+
+    private static final List<RecalculationStatus> ACTIVE =
+            List.of(RecalculationStatus.PENDING, RecalculationStatus.RUNNING);
+
+    private final CommissionRecalculationRepository recalculationRepository;
+    private final CommissionRepository commissionRepository;
+    private final CommissionPeriodRepository periodRepository;
+    private final SalonRepository salonRepository;
+    private final UtilisateurRepository utilisateurRepository;
+    private final ThreadPoolTaskExecutor commissionJobExecutor;
+    private final PlatformTransactionManager transactionManager;
+    private final DataSource dataSource;
+
+    @Value("${commission.recalculation.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${commission.recalculation.stale-after-seconds:120}")
+    private long staleAfterSeconds;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private JdbcTemplate cursorJdbc;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnlyTx;
+    private TransactionTemplate chunkTx;
+
+    @PostConstruct
+    public void init() {
+        this.cursorJdbc = new JdbcTemplate(dataSource);
+        this.cursorJdbc.setFetchSize(chunkSize);
+        this.jdbc = new JdbcTemplate(dataSource);
+
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        // Chunks commit on their own connection while the cursor stays open
+        this.chunkTx = new TransactionTemplate(transactionManager);
+        this.chunkTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    private String requireSalonId() {
+        String salonId = TenantContextHolder.getSalonId();
+        if (salonId == null || salonId.isBlank()) {
+            throw new IllegalStateException("Contexte de salon manquant");
+        }
+        return salonId;
+    }
+
+    /** Beats for this instance's jobs, then fails the jobs of instances that stopped (also at startup). */
+    @Scheduled(fixedDelayString = "${commission.recalculation.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer stale = chunkTx.execute(status -> {
+            recalculationRepository.heartbeat(instanceId, now);
+            return recalculationRepository.failStale("Interrompu: instance arretee", now,
+                    now.minusSeconds(staleAfterSeconds));
+        });
+        if (stale != null && stale > 0) {
+            log.warn("{} recalculs de commissions interrompus, a reprendre", stale);
+        }
+    }
+
+    @PreAuthorize("hasRole('MANAGER')")
+    public CommissionRecalculationResponse start(RecalculateCommissionsRequest request) {
+        String salonId = requireSalonId();
+        if (request.getEnd().isBefore(request.getStart())) {
+            throw new IllegalArgumentException("La date de fin doit etre posterieure a la date de debut");
+        }
+        Utilisateur currentUser = (Utilisateur) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        CommissionRecalculation job = chunkTx.execute(status -> {
+            // Locked until commit, so that two starts for the same barber cannot both pass the check below
+            Barber barber = (Barber) utilisateurRepository.lockByIdAndType(request.getBarberId(), Barber.class)
+                    .filter(b -> salonId.equals(b.getSalonId()))
+                    .orElseThrow(() -> new ResourceNotFoundException("Coiffeur introuvable"));
+
+            if (periodRepository.existsOverlapping(salonId, request.getStart(), request.getEnd())) {
+                throw new BusinessException("PERIOD_ALREADY_CLOSED", "Cette periode chevauche une periode deja cloturee");
+            }
+            requireNoActiveJob(barber.getId());
+
+            return recalculationRepository.save(CommissionRecalculation.builder()
+                    .id(IdGenerator.newId())
+                    .salon(salonRepository.getReferenceById(salonId))
+                    .barber(barber)
+                    .periodStart(request.getStart())
+                    .periodEnd(request.getEnd())
+                    .rate(CommissionCalculator.rateOf(barber))
+                    .status(RecalculationStatus.PENDING)
+                    .owner(instanceId)
+                    .heartbeatAt(LocalDateTime.now())
+                    .totalCount(commissionRepository.countBySalonIdAndBarberIdAndPeriodStartBetween(
+                            salonId, barber.getId(), request.getStart(), request.getEnd()))
+                    .createdBy(currentUser)
+                    .build());
+        });
+
+        submit(job.getId());
+        return get(job.getId());
+    }
+
+    @PreAuthorize("hasRole('MANAGER')")
+    public CommissionRecalculationResponse resume(String id) {
+        String salonId = requireSalonId();
+        chunkTx.executeWithoutResult(status -> {
+            CommissionRecalculation job = recalculationRepository.findByIdAndSalonId(id, salonId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Recalcul introuvable"));
+            utilisateurRepository.lockByIdAndType(job.getBarber().getId(), Barber.class);
+            requireNoActiveJob(job.getBarber().getId());
+            if (recalculationRepository.markResumable(id, instanceId, LocalDateTime.now()) == 0) {
+                throw new BusinessException("NOT_RESUMABLE", "Seul un recalcul en echec peut etre repris");
+            }
+        });
+
+        submit(id);
+        return get(id);
+    }
+
+    @PreAuthorize("hasRole('MANAGER')")
+    public List<CommissionRecalculationResponse> getAll() {
+        String salonId = requireSalonId();
+        return readOnlyTx.execute(status -> recalculationRepository.findBySalonId(salonId)
+                .stream()
+                .map(this::toResponse)
+                .toList());
+    }
+
+    @PreAuthorize("hasRole('MANAGER')")
+    public CommissionRecalculationResponse getById(String id) {
+        String salonId = requireSalonId();
+        return readOnlyTx.execute(status -> recalculationRepository.findByIdAndSalonId(id, salonId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Recalcul introuvable")));
+    }
+
+    private void requireNoActiveJob(String barberId) {
+        if (recalculationRepository.existsByBarberIdAndStatusIn(barberId, ACTIVE)) {
+            throw new BusinessException("RECALCULATION_RUNNING", "Un recalcul est deja en cours pour ce coiffeur");
+        }
+    }
+
+    private CommissionRecalculationResponse get(String id) {
+        return readOnlyTx.execute(status -> toResponse(recalculationRepository.findById(id).orElseThrow()));
+    }
+
+    private void submit(String jobId) {
+        try {
+            commissionJobExecutor.execute(() -> run(jobId));
+        } catch (TaskRejectedException e) {
+            fail(jobId, "File des recalculs pleine");
+            throw new ServiceUnavailableException("RECALCULATION_BUSY", "Trop de recalculs en cours, veuillez reessayer");
+        }
+    }
+
+    private void run(String jobId) {
+        CommissionRecalculation job = chunkTx.execute(status -> {
+            CommissionRecalculation j = recalculationRepository.findById(jobId).orElseThrow();
+            if (j.getStatus() != RecalculationStatus.PENDING || !instanceId.equals(j.getOwner())) {
+                // Declared stale while queued, and possibly resumed elsewhere
+                return null;
+            }
+            j.setStatus(RecalculationStatus.RUNNING);
+            j.setStartedAt(LocalDateTime.now());
+            j.setHeartbeatAt(LocalDateTime.now());
+            j.setResumedFrom(j.getProcessedCount());
+            return j;
+        });
+        if (job == null) {
+            log.warn("Recalcul de commissions {} abandonne: il n'appartient plus a cette instance", jobId);
+            return;
+        }
+
+        Chunk chunk = new Chunk(jobId, job.getSalon().getId(), job.getRate());
+        LocalDate afterDate = job.getCheckpointDate() != null ? job.getCheckpointDate() : job.getPeriodStart().minusDays(1);
+        String afterId = job.getCheckpointId() != null ? job.getCheckpointId() : "";
+
+        try {
+            readOnlyTx.executeWithoutResult(status -> cursorJdbc.query(SCAN_SQL, (RowCallbackHandler) rs -> {
+                chunk.add(rs.getString(1), rs.getDate(2).toLocalDate(), rs.getBigDecimal(3),
+                        rs.getBigDecimal(4), rs.getBigDecimal(5));
+                if (chunk.size() >= chunkSize) {
+                    chunk.flush();
+                }
+            }, job.getSalon().getId(), job.getBarber().getId(),
+                    Date.valueOf(job.getPeriodStart()), Date.valueOf(job.getPeriodEnd()),
+                    Date.valueOf(afterDate), Date.valueOf(afterDate), afterId));
+            chunk.flush();
+
+            chunkTx.executeWithoutResult(status -> recalculationRepository.finish(
+                    jobId, instanceId, RecalculationStatus.COMPLETED, null, LocalDateTime.now()));
+            log.info("Recalcul de commissions {} termine", jobId);
+        } catch (RuntimeException e) {
+            log.error("Recalcul de commissions {} en echec", jobId, e);
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            fail(jobId, message.length() > 500 ? message.substring(0, 500) : message);
+        }
+    }
+
+    private void fail(String jobId, String error) {
+        chunkTx.executeWithoutResult(status -> recalculationRepository.finish(
+                jobId, instanceId, RecalculationStatus.FAILED, error, LocalDateTime.now()));
+    }
+
+    private CommissionRecalculationResponse toResponse(CommissionRecalculation r) {
+        LocalDateTime until = r.getFinishedAt() != null ? r.getFinishedAt() : LocalDateTime.now();
+        double seconds = r.getStartedAt() != null ? Duration.between(r.getStartedAt(), until).toMillis() / 1000.0 : 0;
+        double rowsPerSecond = seconds > 0 ? (r.getProcessedCount() - r.getResumedFrom()) / seconds : 0;
+        double progress = r.getTotalCount() > 0
+                ? Math.min(100.0, r.getProcessedCount() * 100.0 / r.getTotalCount())
+                : (r.getStatus() == RecalculationStatus.COMPLETED ? 100.0 : 0);
+
+        return CommissionRecalculationResponse.builder()
+                .id(r.getId())
+                .barberId(r.getBarber().getId())
+                .barberName(r.getBarber().getFirstName() + " " + r.getBarber().getLastName())
+                .periodStart(r.getPeriodStart().toString())
+                .periodEnd(r.getPeriodEnd().toString())
+                .rate(r.getRate())
+                .status(r.getStatus().name())
+                .totalCount(r.getTotalCount())
+                .processedCount(r.getProcessedCount())
+                .updatedCount(r.getUpdatedCount())
+                .progressPercent(progress)
+                .rowsPerSecond(rowsPerSecond)
+                .lastError(r.getLastError())
+                .startedAt(r.getStartedAt() != null ? r.getStartedAt().toString() : null)
+                .finishedAt(r.getFinishedAt() != null ? r.getFinishedAt().toString() : null)
+                .build();
+    }
+
+    /** Rows read since the last flush; only changed commissions are written. */
+    private final class Chunk {
+
+        private final String jobId;
+        private final String salonId;
+        private final BigDecimal rate;
+        private final List<Object[]> updates = new ArrayList<>();
+        private int processed;
+        private LocalDate firstDate;
+        private LocalDate lastDate;
+        private String lastId;
+
+        Chunk(String jobId, String salonId, BigDecimal rate) {
+            this.jobId = jobId;
+            this.salonId = salonId;
+            this.rate = rate;
+        }
+
+        void add(String id, LocalDate periodStart, BigDecimal rateApplied, BigDecimal amount, BigDecimal total) {
+            // Same rounding as at cashing time
+            BigDecimal corrected = CommissionCalculator.amount(total, rate);
+            if (rateApplied.compareTo(rate) != 0 || amount.compareTo(corrected) != 0) {
+                updates.add(new Object[]{rate, corrected, id});
+            }
+            if (processed == 0) {
+                firstDate = periodStart;
+            }
+            processed++;
+            lastDate = periodStart;
+            lastId = id;
+        }
+
+        int size() {
+            return processed;
+        }
+
+        void flush() {
+            if (processed == 0) return;
+            chunkTx.executeWithoutResult(status -> {
+                // A period may have been closed since the job started: its statements are final
+                salonRepository.lockSharedById(salonId);
+                if (periodRepository.existsOverlapping(salonId, firstDate, lastDate)) {
+                    throw new BusinessException("PERIOD_ALREADY_CLOSED",
+                            "Une periode du recalcul a ete cloturee entre-temps");
+                }
+                if (!updates.isEmpty()) {
+                    jdbc.batchUpdate(UPDATE_SQL, updates);
+                }
+                if (recalculationRepository.advance(jobId, instanceId, processed, updates.size(),
+                        lastDate, lastId, LocalDateTime.now()) == 0) {
+                    throw new IllegalStateException("Recalcul repris par une autre instance");
+                }
+            });
+            updates.clear();
+            processed = 0;
+        }
+    }
+}
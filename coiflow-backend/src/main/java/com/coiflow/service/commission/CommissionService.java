@@ -1,14 +1,28 @@
 package com.coiflow.service.commission;
 
+import com.coiflow.dto.commission.ClosePeriodRequest;
 import com.coiflow.dto.commission.CommissionResponse;
-import com.coiflow.model.commission.Commission;
+import com.coiflow.dto.commission.CommissionStatementResponse;
+import com.coiflow.exception.BusinessException;
+import com.coiflow.model.IdGenerator;
+import com.coiflow.model.commission.CommissionPeriod;
+import com.coiflow.model.commission.CommissionStatement;
 import com.coiflow.model.user.Utilisateur;
+import com.coiflow.repository.commission.BarberCommissionTotal;
+import com.coiflow.repository.commission.CommissionPeriodRepository;
 import com.coiflow.repository.commission.CommissionRepository;
+import com.coiflow.repository.commission.CommissionRow;
+import com.coiflow.repository.commission.CommissionStatementRepository;
+import com.coiflow.repository.outbox.OutboxEventRepository;
+import com.coiflow.repository.salon.SalonRepository;
+import com.coiflow.repository.user.UtilisateurRepository;
 import com.coiflow.security.TenantContextHolder;
+import com.coiflow.service.salon.SalonTimeZones;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -19,6 +33,12 @@ import java.util.List;
 public class CommissionService {
 
     private final CommissionRepository commissionRepository;
+    private final CommissionStatementRepository statementRepository;
+    private final CommissionPeriodRepository periodRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final SalonTimeZones salonTimeZones;
+    private final SalonRepository salonRepository;
+    private final UtilisateurRepository utilisateurRepository;
 
     private String requireSalonId() {
         String salonId = TenantContextHolder.getSalonId();
@@ -40,25 +60,134 @@ public class CommissionService {
             barberId = currentUser.getId();
         }
 
-        List<Commission> commissions;
+        // Single projection query: no entity or lazy barber/transaction load per row
+        List<CommissionRow> rows;
         if (barberId != null && !barberId.isBlank()) {
-            commissions = commissionRepository.findByBarberIdAndCreatedAtBetween(barberId, startDt, endDt);
+            rows = commissionRepository.findRowsByBarberIdAndCreatedAtBetween(salonId, barberId, startDt, endDt);
         } else {
-            commissions = commissionRepository.findBySalonIdAndCreatedAtBetween(salonId, startDt, endDt);
+            rows = commissionRepository.findRowsBySalonIdAndCreatedAtBetween(salonId, startDt, endDt);
         }
 
-        return commissions.stream().map(this::toResponse).toList();
+        return rows.stream().map(this::toResponse).toList();
     }
 
-    private CommissionResponse toResponse(Commission c) {
+    /**
+     * Per-barber totals for a period (by service date). A closed period is served from its
+     * persisted statements; an open one is aggregated on the fly with SUM/COUNT.
+     */
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('MANAGER','BARBER')")
+    public List<CommissionStatementResponse> getStatements(LocalDate start, LocalDate end, String barberId) {
+        String salonId = requireSalonId();
+        validatePeriod(start, end);
+
+        Utilisateur currentUser = (Utilisateur) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        String filter = "BARBER".equals(currentUser.getRole().name()) ? currentUser.getId() : barberId;
+
+        boolean closed = periodRepository.existsBySalon_IdAndPeriodStartAndPeriodEnd(salonId, start, end);
+        List<CommissionStatementResponse> result = closed
+                ? statementRepository.findPeriod(salonId, start, end).stream().map(this::toResponse).toList()
+                : commissionRepository.sumByBarberForPeriod(salonId, start, end).stream()
+                        .map(t -> toResponse(t, start, end))
+                        .toList();
+
+        if (filter == null || filter.isBlank()) {
+            return result;
+        }
+        return result.stream().filter(r -> filter.equals(r.getBarberId())).toList();
+    }
+
+    @Transactional
+    @PreAuthorize("hasRole('MANAGER')")
+    public List<CommissionStatementResponse> closePeriod(ClosePeriodRequest request) {
+        String salonId = requireSalonId();
+        LocalDate start = request.getStart();
+        LocalDate end = request.getEnd();
+        validatePeriod(start, end);
+
+        if (!end.isBefore(salonTimeZones.today(salonTimeZones.zoneOf(salonId)))) {
+            throw new BusinessException("PERIOD_NOT_ENDED", "La periode doit etre terminee pour etre cloturee");
+        }
+        // Held until commit: concurrent closes of overlapping periods, and cashing, wait for this one
+        salonRepository.lockById(salonId);
+        if (periodRepository.existsOverlapping(salonId, start, end)) {
+            throw new BusinessException("PERIOD_ALREADY_CLOSED", "Cette periode chevauche une periode deja cloturee");
+        }
+        // Commission service dates are server-local dates, like the period bounds here
+        if (outboxEventRepository.existsUnprocessedForServicePeriod(
+                salonId, start.atStartOfDay(), end.plusDays(1).atStartOfDay())) {
+            throw new BusinessException("PERIOD_PENDING_EVENTS",
+                    "Des encaissements de la periode sont encore en cours de traitement");
+        }
+
+        Utilisateur currentUser = (Utilisateur) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        // The marker is written even for a period without commissions; its unique key stops a second close
+        periodRepository.saveAndFlush(CommissionPeriod.builder()
+                .id(IdGenerator.newId())
+                .salon(salonRepository.getReferenceById(salonId))
+                .periodStart(start)
+                .periodEnd(end)
+                .closedBy(currentUser)
+                .build());
+        List<CommissionStatement> statements = commissionRepository.sumByBarberForPeriod(salonId, start, end)
+                .stream()
+                .map(t -> CommissionStatement.builder()
+                        .id(IdGenerator.newId())
+                        .salon(salonRepository.getReferenceById(salonId))
+                        .barber(utilisateurRepository.getReferenceById(t.getBarberId()))
+                        .periodStart(start)
+                        .periodEnd(end)
+                        .totalAmount(t.getTotalAmount())
+                        .commissionCount((int) t.getCommissionCount())
+                        .closedBy(currentUser)
+                        .build())
+                .toList();
+        statementRepository.saveAll(statements);
+
+        return statementRepository.findPeriod(salonId, start, end).stream().map(this::toResponse).toList();
+    }
+
+    private void validatePeriod(LocalDate start, LocalDate end) {
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("La date de fin doit etre posterieure a la date de debut");
+        }
+    }
+
+    private CommissionResponse toResponse(CommissionRow c) {
         return CommissionResponse.builder()
                 .id(c.getId())
-                .barberId(c.getBarber().getId())
-                .barberName(c.getBarber().getFirstName() + " " + c.getBarber().getLastName())
-                .transactionId(c.getTransaction().getId())
+                .barberId(c.getBarberId())
+                .barberName(c.getBarberName())
+                .transactionId(c.getTransactionId())
                 .rateApplied(c.getRateApplied())
                 .amount(c.getAmount())
                 .createdAt(c.getCreatedAt() != null ? c.getCreatedAt().toString() : null)
                 .build();
     }
+
+    private CommissionStatementResponse toResponse(CommissionStatement s) {
+        return CommissionStatementResponse.builder()
+                .id(s.getId())
+                .barberId(s.getBarber().getId())
+                .barberName(s.getBarber().getFirstName() + " " + s.getBarber().getLastName())
+                .periodStart(s.getPeriodStart().toString())
+                .periodEnd(s.getPeriodEnd().toString())
+                .totalAmount(s.getTotalAmount())
+                .commissionCount(s.getCommissionCount())
+                .closed(true)
+                .closedAt(s.getClosedAt() != null ? s.getClosedAt().toString() : null)
+                .build();
+    }
+
+    private CommissionStatementResponse toResponse(BarberCommissionTotal t, LocalDate start, LocalDate end) {
+        return CommissionStatementResponse.builder()
+                .barberId(t.getBarberId())
+                .barberName(t.getBarberName())
+                .periodStart(start.toString())
+                .periodEnd(end.toString())
+                .totalAmount(t.getTotalAmount())
+                .commissionCount((int) t.getCommissionCount())
+                .closed(false)
+                .build();
+    }
 }
@@ -1,35 +1,57 @@
 package com.coiflow.service.dashboard;
 
-import com.coiflow.dto.dashboard.DailyRevenueResponse;
-import com.coiflow.dto.dashboard.DashboardStatsResponse;
+import com.coiflow.dto.dashboard.*;
+import com.coiflow.exception.ServiceUnavailableException;
 import com.coiflow.model.enums.AppointmentStatus;
-import com.coiflow.model.enums.TransactionStatus;
-import com.coiflow.model.transaction.Transaction;
+import com.coiflow.model.enums.Granularity;
 import com.coiflow.model.user.Barber;
 import com.coiflow.repository.appointment.AppointmentRepository;
+import com.coiflow.repository.appointment.StatusCount;
+import com.coiflow.repository.dashboard.TransactionAmountRow;
 import com.coiflow.repository.transaction.TransactionRepository;
 import com.coiflow.repository.user.UtilisateurRepository;
 import com.coiflow.security.TenantContextHolder;
+import com.coiflow.service.salon.SalonTimeZones;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
 
-    private static final ZoneId ZONE = ZoneId.of("Africa/Algiers");
+    private static final int UPCOMING_LIMIT = 10;
 
     private final AppointmentRepository appointmentRepository;
     private final TransactionRepository transactionRepository;
     private final UtilisateurRepository utilisateurRepository;
+    private final RevenueRollupService revenueRollupService;
+    private final SalonTimeZones salonTimeZones;
+    private final ThreadPoolTaskExecutor dashboardExecutor;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${dashboard.overview.timeout-ms:2000}")
+    private long timeoutMs;
 
     private String requireSalonId() {
         String salonId = TenantContextHolder.getSalonId();
@@ -41,70 +63,189 @@ public class DashboardService {
 
     @PreAuthorize("hasRole('MANAGER')")
     public DashboardStatsResponse getStats() {
-        String salonId = requireSalonId();
-        LocalDate today = LocalDate.now(ZONE);
-        LocalDateTime dayStart = today.atStartOfDay();
-        LocalDateTime dayEnd = today.plusDays(1).atStartOfDay();
-
-        // Revenue today: sum of COMPLETED transactions
-        var transactions = transactionRepository.findBySalonIdAndCreatedAtBetween(salonId, dayStart, dayEnd);
-        BigDecimal revenueToday = transactions.stream()
-                .filter(t -> t.getStatus() == TransactionStatus.COMPLETED)
-                .map(Transaction::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Appointments today by status
-        var appointments = appointmentRepository.findBySalonIdAndStartTimeBetween(salonId, dayStart, dayEnd);
-        Map<String, Integer> byStatus = new LinkedHashMap<>();
-        for (AppointmentStatus s : AppointmentStatus.values()) {
-            byStatus.put(s.name(), 0);
-        }
-        for (var a : appointments) {
-            byStatus.merge(a.getStatus().name(), 1, Integer::sum);
-        }
+        Today today = today(requireSalonId());
+        long deadline = deadline();
+        StatsFutures stats = submitStats(today, deadline);
+        awaitAll(stats.all(), deadline);
+        return stats.join();
+    }
 
-        // Active barbers
-        int activeBarbersCount = utilisateurRepository
-                .findBySalonIdAndTypeAndActive(salonId, Barber.class, true).size();
+    /**
+     * Stats, today's revenue curve, to-cash count and upcoming appointments in one response.
+     * The reads are independent and run concurrently, each on its own connection, under one deadline.
+     */
+    @PreAuthorize("hasRole('MANAGER')")
+    public DashboardOverviewResponse getOverview() {
+        Today today = today(requireSalonId());
+        long deadline = deadline();
+        StatsFutures stats = submitStats(today, deadline);
+        CompletableFuture<List<HourlyRevenueResponse>> curve = submit(() -> revenueCurve(today), deadline);
+        CompletableFuture<Long> toCash = submit(() -> appointmentRepository.countToCash(
+                today.salonId(), today.wallStart(), today.wallEnd()), deadline);
+        CompletableFuture<List<UpcomingAppointmentResponse>> upcoming = submit(() -> upcoming(today), deadline);
+
+        List<CompletableFuture<?>> all = new ArrayList<>(stats.all());
+        all.addAll(List.of(curve, toCash, upcoming));
+        awaitAll(all, deadline);
 
-        return DashboardStatsResponse.builder()
-                .revenueToday(revenueToday)
-                .appointmentsToday(appointments.size())
-                .appointmentsByStatus(byStatus)
-                .activeBarbersCount(activeBarbersCount)
+        return DashboardOverviewResponse.builder()
+                .stats(stats.join())
+                .revenueCurveToday(curve.join())
+                .toCashCount(toCash.join())
+                .upcomingAppointments(upcoming.join())
                 .build();
     }
 
     @PreAuthorize("hasRole('MANAGER')")
-    public List<DailyRevenueResponse> getRevenue(LocalDate start, LocalDate end) {
+    public List<DailyRevenueResponse> getRevenue(LocalDate start, LocalDate end, Granularity granularity) {
         String salonId = requireSalonId();
-        LocalDateTime startDt = start.atStartOfDay();
-        LocalDateTime endDt = end.plusDays(1).atStartOfDay();
-
-        var transactions = transactionRepository.findBySalonIdAndCreatedAtBetween(salonId, startDt, endDt);
-
-        // Group completed transactions by day
-        Map<LocalDate, List<Transaction>> byDay = transactions.stream()
-                .filter(t -> t.getStatus() == TransactionStatus.COMPLETED)
-                .collect(Collectors.groupingBy(
-                        t -> t.getCreatedAt().toLocalDate(),
-                        LinkedHashMap::new,
-                        Collectors.toList()
-                ));
-
-        // Build response with all dates in range (including zero-revenue days)
-        List<DailyRevenueResponse> result = new ArrayList<>();
-        for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
-            var dayTxns = byDay.getOrDefault(d, List.of());
-            BigDecimal revenue = dayTxns.stream()
-                    .map(Transaction::getTotalAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            result.add(DailyRevenueResponse.builder()
-                    .date(d.toString())
-                    .revenue(revenue)
-                    .transactionCount(dayTxns.size())
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("La date de fin doit etre posterieure a la date de debut");
+        }
+        // One row per bucket from the precomputed rollups (zero-filled)
+        return revenueRollupService.read(salonId, start, end, granularity);
+    }
+
+    private StatsFutures submitStats(Today today, long deadline) {
+        // Revenue today: read from the daily rollup
+        CompletableFuture<BigDecimal> revenue = submit(() -> revenueRollupService
+                .read(today.salonId(), today.date(), today.date(), Granularity.DAY).get(0).getRevenue(), deadline);
+        // Appointments today by status (appointment times are salon wall-clock times)
+        CompletableFuture<List<StatusCount>> byStatus = submit(() -> appointmentRepository
+                .countByStatus(today.salonId(), today.wallStart(), today.wallEnd()), deadline);
+        CompletableFuture<Long> barbers = submit(() -> utilisateurRepository
+                .countBySalonIdAndTypeAndActive(today.salonId(), Barber.class, true), deadline);
+        return new StatsFutures(revenue, byStatus, barbers);
+    }
+
+    private List<HourlyRevenueResponse> revenueCurve(Today today) {
+        BigDecimal[] revenue = new BigDecimal[24];
+        int[] counts = new int[24];
+        for (TransactionAmountRow row : transactionRepository.findCompletedAmounts(
+                today.salonId(), today.serverStart(), today.serverEnd())) {
+            int hour = salonTimeZones.toSalonTime(row.getCreatedAt(), today.zone()).getHour();
+            revenue[hour] = revenue[hour] == null ? row.getTotalAmount() : revenue[hour].add(row.getTotalAmount());
+            counts[hour]++;
+        }
+
+        List<HourlyRevenueResponse> curve = new ArrayList<>(24);
+        BigDecimal cumulative = BigDecimal.ZERO;
+        for (int h = 0; h < 24; h++) {
+            BigDecimal r = revenue[h] != null ? revenue[h] : BigDecimal.ZERO;
+            cumulative = cumulative.add(r);
+            curve.add(HourlyRevenueResponse.builder()
+                    .hour(h)
+                    .revenue(r)
+                    .cumulativeRevenue(cumulative)
+                    .transactionCount(counts[h])
                     .build());
         }
-        return result;
+        return curve;
+    }
+
+    private List<UpcomingAppointmentResponse> upcoming(Today today) {
+        LocalDateTime now = LocalDateTime.now(today.zone());
+        return appointmentRepository.findUpcoming(today.salonId(), now, PageRequest.of(0, UPCOMING_LIMIT))
+                .stream()
+                .map(a -> UpcomingAppointmentResponse.builder()
+                        .id(a.getId())
+                        .startTime(a.getStartTime().toString())
+                        .endTime(a.getEndTime().toString())
+                        .barberName(a.getBarberName())
+                        .clientName(a.getClientName())
+                        .build())
+                .toList();
+    }
+
+    private Today today(String salonId) {
+        ZoneId zone = salonTimeZones.zoneOf(salonId);
+        LocalDate date = salonTimeZones.today(zone);
+        return new Today(salonId, zone, date,
+                date.atStartOfDay(), date.plusDays(1).atStartOfDay(),
+                salonTimeZones.startOfDay(date, zone), salonTimeZones.startOfDay(date.plusDays(1), zone));
+    }
+
+    private long deadline() {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> query, long deadline) {
+        try {
+            return CompletableFuture.supplyAsync(() -> readOnlyTx(deadline).execute(status -> query.get()),
+                    dashboardExecutor);
+        } catch (TaskRejectedException e) {
+            throw new ServiceUnavailableException("DASHBOARD_BUSY", "Tableau de bord surcharge, veuillez reessayer");
+        }
+    }
+
+    /**
+     * Read-only transaction whose timeout is what is left of the request's budget. Cancelling the
+     * future does not stop a running query, but the transaction timeout becomes the statement
+     * timeout of every JPA and JDBC query in it, so the database aborts the query and the thread
+     * and connection are released. JDBC timeouts are in whole seconds, so it is rounded up.
+     */
+    private TransactionTemplate readOnlyTx(long deadline) {
+        long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remainingMs <= 0) {
+            // Waited in the queue past the deadline: the caller has already given up
+            throw new ServiceUnavailableException("DASHBOARD_TIMEOUT", "Le tableau de bord a mis trop de temps a repondre");
+        }
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        tx.setTimeout((int) Math.ceil(remainingMs / 1000.0));
+        return tx;
+    }
+
+    private void awaitAll(List<CompletableFuture<?>> futures, long deadline) {
+        CompletableFuture<Void> all = CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+        try {
+            all.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw new ServiceUnavailableException("DASHBOARD_TIMEOUT", "Le tableau de bord a mis trop de temps a repondre");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(f -> f.cancel(true));
+            throw new ServiceUnavailableException("DASHBOARD_TIMEOUT", "Le tableau de bord a ete interrompu");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Salon-local "today": wall-clock bounds for appointments, server-local bounds for audit timestamps.
+     */
+    private record Today(String salonId, ZoneId zone, LocalDate date,
+                         LocalDateTime wallStart, LocalDateTime wallEnd,
+                         LocalDateTime serverStart, LocalDateTime serverEnd) {}
+
+    private record StatsFutures(CompletableFuture<BigDecimal> revenue,
+                                CompletableFuture<List<StatusCount>> byStatus,
+                                CompletableFuture<Long> activeBarbers) {
+
+        List<CompletableFuture<?>> all() {
+            return List.of(revenue, byStatus, activeBarbers);
+        }
+
+        DashboardStatsResponse join() {
+            Map<String, Integer> statuses = new LinkedHashMap<>();
+            for (AppointmentStatus s : AppointmentStatus.values()) {
+                statuses.put(s.name(), 0);
+            }
+            int total = 0;
+            for (StatusCount c : byStatus.join()) {
+                statuses.put(c.getStatus().name(), (int) c.getTotal());
+                total += (int) c.getTotal();
+            }
+            return DashboardStatsResponse.builder()
+                    .revenueToday(revenue.join())
+                    .appointmentsToday(total)
+                    .appointmentsByStatus(statuses)
+                    .activeBarbersCount(activeBarbers.join().intValue())
+                    .build();
+        }
     }
 }
@@ -0,0 +1,138 @@
+package com.coiflow.service.dashboard;
+
+import com.coiflow.cache.TtlCache;
+import com.coiflow.dto.dashboard.LeaderboardEntryResponse;
+import com.coiflow.model.enums.LeaderboardMetric;
+import com.coiflow.repository.dashboard.RankingRow;
+import com.coiflow.repository.transaction.TransactionRepository;
+import com.coiflow.security.TenantContextHolder;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+public class LeaderboardService {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final TransactionRepository transactionRepository;
+
+    @Value("${dashboard.leaderboard.cache-ttl-seconds:60}")
+    private long cacheTtlSeconds;
+
+    @Value("${dashboard.leaderboard.cache-max-entries:500}")
+    private int cacheMaxEntries;
+
+    private TtlCache<LeaderboardKey, List<LeaderboardEntryResponse>> cache;
+
+    @PostConstruct
+    public void init() {
+        this.cache = new TtlCache<>(cacheMaxEntries, Duration.ofSeconds(cacheTtlSeconds));
+    }
+
+    private String requireSalonId() {
+        String salonId = TenantContextHolder.getSalonId();
+        if (salonId == null || salonId.isBlank()) {
+            throw new IllegalStateException("Contexte de salon manquant");
+        }
+        return salonId;
+    }
+
+    @PreAuthorize("hasRole('MANAGER')")
+    public List<LeaderboardEntryResponse> getBarberLeaderboard(
+            LocalDate start, LocalDate end, LeaderboardMetric metric, int limit) {
+        String salonId = requireSalonId();
+        validateRange(start, end);
+        LeaderboardKey key = new LeaderboardKey(salonId, Board.BARBERS, start, end, metric, clampLimit(limit));
+        return cache.get(key, k -> topK(
+                transactionRepository.rankBarbers(salonId, startOf(start), endOf(end)), k.metric(), k.limit()));
+    }
+
+    @PreAuthorize("hasRole('MANAGER')")
+    public List<LeaderboardEntryResponse> getServiceLeaderboard(
+            LocalDate start, LocalDate end, LeaderboardMetric metric, int limit) {
+        String salonId = requireSalonId();
+        validateRange(start, end);
+        LeaderboardKey key = new LeaderboardKey(salonId, Board.SERVICES, start, end, metric, clampLimit(limit));
+        return cache.get(key, k -> topK(
+                transactionRepository.rankServices(salonId, startOf(start), endOf(end)), k.metric(), k.limit()));
+    }
+
+    /**
+     * Keeps only the k best rows in a min-heap (O(n log k)) instead of sorting every group.
+     */
+    static List<LeaderboardEntryResponse> topK(List<RankingRow> rows, LeaderboardMetric metric, int k) {
+        Comparator<RankingRow> order = comparator(metric);
+        PriorityQueue<RankingRow> heap = new PriorityQueue<>(k + 1, order);
+        for (RankingRow row : rows) {
+            if (heap.size() < k) {
+                heap.offer(row);
+            } else if (order.compare(row, heap.peek()) > 0) {
+                heap.poll();
+                heap.offer(row);
+            }
+        }
+
+        List<RankingRow> best = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            best.add(heap.poll());
+        }
+        Collections.reverse(best);
+
+        List<LeaderboardEntryResponse> result = new ArrayList<>(best.size());
+        for (int i = 0; i < best.size(); i++) {
+            RankingRow row = best.get(i);
+            result.add(LeaderboardEntryResponse.builder()
+                    .rank(i + 1)
+                    .id(row.getId())
+                    .name(row.getName())
+                    .revenue(row.getRevenue() != null ? row.getRevenue() : BigDecimal.ZERO)
+                    .volume(row.getVolume())
+                    .build());
+        }
+        return List.copyOf(result);
+    }
+
+    // Ascending order: the heap head is the weakest row. Ties are broken on id for a stable ranking.
+    private static Comparator<RankingRow> comparator(LeaderboardMetric metric) {
+        Comparator<RankingRow> byRevenue = Comparator.comparing(
+                r -> r.getRevenue() != null ? r.getRevenue() : BigDecimal.ZERO);
+        Comparator<RankingRow> byVolume = Comparator.comparingLong(RankingRow::getVolume);
+        Comparator<RankingRow> primary = metric == LeaderboardMetric.VOLUME
+                ? byVolume.thenComparing(byRevenue)
+                : byRevenue.thenComparing(byVolume);
+        return primary.thenComparing(RankingRow::getId, Comparator.reverseOrder());
+    }
+
+    private void validateRange(LocalDate start, LocalDate end) {
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("La date de fin doit etre posterieure a la date de debut");
+        }
+    }
+
+    private int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    private LocalDateTime startOf(LocalDate start) {
+        return start.atStartOfDay();
+    }
+
+    private LocalDateTime endOf(LocalDate end) {
+        return end.plusDays(1).atStartOfDay();
+    }
+
+    private enum Board { BARBERS, SERVICES }
+
+    private record LeaderboardKey(
+            String salonId, Board board, LocalDate start, LocalDate end, LeaderboardMetric metric, int limit) {}
+}
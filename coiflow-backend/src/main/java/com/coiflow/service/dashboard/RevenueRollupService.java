@@ -0,0 +1,240 @@
+package com.coiflow.service.dashboard;
+
+import com.coiflow.dto.dashboard.DailyRevenueResponse;
+import com.coiflow.model.IdGenerator;
+import com.coiflow.model.dashboard.RevenueRollup;
+import com.coiflow.model.dashboard.RevenueRollupState;
+import com.coiflow.model.enums.Granularity;
+import com.coiflow.model.salon.Salon;
+import com.coiflow.repository.dashboard.RevenueRollupRepository;
+import com.coiflow.repository.dashboard.RevenueRollupStateRepository;
+import com.coiflow.repository.dashboard.TransactionAmountRow;
+import com.coiflow.repository.salon.SalonRepository;
+import com.coiflow.repository.transaction.TransactionRepository;
+import com.coiflow.service.salon.SalonTimeZones;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Maintains per-salon revenue totals by day, week and month so that long-range charts
+ * read one row per bucket instead of every transaction.
+ * Every write locks the salon's {@link RevenueRollupState} row first: event deltas and rebuilds
+ * of a salon are serialized, so a rebuild never interleaves with a delta and two deltas never
+ * race to insert the same bucket.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RevenueRollupService {
+
+    private final RevenueRollupRepository rollupRepository;
+    private final RevenueRollupStateRepository rollupStateRepository;
+    private final TransactionRepository transactionRepository;
+    private final SalonRepository salonRepository;
+    private final SalonTimeZones salonTimeZones;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Starts a set of revenue deltas that are merged per bucket and applied on {@link RollupBatch#flush()}.
+     * The flush must run inside the transaction that accounts for the changes.
+     */
+    public RollupBatch newBatch() {
+        return new RollupBatch();
+    }
+
+    /**
+     * Returns one point per bucket between start and end (inclusive), zero-filled.
+     * The range is widened to whole buckets for WEEK and MONTH. Today is read from the transactions,
+     * like the dashboard's hourly curve: its outbox events may not have reached the rollups yet.
+     */
+    @Transactional(readOnly = true)
+    public List<DailyRevenueResponse> read(String salonId, LocalDate start, LocalDate end, Granularity granularity) {
+        LocalDate first = bucketStart(start, granularity);
+        LocalDate last = bucketStart(end, granularity);
+
+        Map<LocalDate, Bucket> buckets = new HashMap<>();
+        for (RevenueRollup r : rollupRepository.findBySalonIdAndGranularityAndBucketStartBetweenOrderByBucketStart(
+                salonId, granularity, first, last)) {
+            buckets.put(r.getBucketStart(), new Bucket().add(r.getRevenue(), r.getTransactionCount()));
+        }
+
+        ZoneId zone = salonTimeZones.zoneOf(salonId);
+        LocalDate today = salonTimeZones.today(zone);
+        LocalDate current = bucketStart(today, granularity);
+        if (!current.isBefore(first) && !current.isAfter(last)) {
+            Bucket bucket = buckets.computeIfAbsent(current, d -> new Bucket());
+            rollupRepository.findBySalonIdAndGranularityAndBucketStartBetweenOrderByBucketStart(
+                            salonId, Granularity.DAY, today, today)
+                    .forEach(r -> bucket.add(r.getRevenue().negate(), -r.getTransactionCount()));
+            transactionRepository.findCompletedAmounts(salonId,
+                            salonTimeZones.startOfDay(today, zone), salonTimeZones.startOfDay(today.plusDays(1), zone))
+                    .forEach(row -> bucket.add(row.getTotalAmount(), 1));
+        }
+
+        List<DailyRevenueResponse> result = new ArrayList<>();
+        for (LocalDate b = first; !b.isAfter(last); b = nextBucket(b, granularity)) {
+            Bucket bucket = buckets.get(b);
+            result.add(DailyRevenueResponse.builder()
+                    .date(b.toString())
+                    .revenue(bucket != null ? bucket.revenue : BigDecimal.ZERO)
+                    .transactionCount(bucket != null ? bucket.count : 0)
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * Recomputes all buckets of a salon: daily totals from completed transactions (consistent with
+     * pending outbox events), then weeks and months from those daily totals.
+     */
+    @Transactional
+    public void rebuild(String salonId) {
+        // Before reading: deltas of events claimed meanwhile are applied after this rebuild commits
+        lock(List.of(salonId)).get(salonId).setBuiltAt(LocalDateTime.now());
+        Salon salon = salonRepository.getReferenceById(salonId);
+        ZoneId zone = salonTimeZones.zoneOf(salonId);
+
+        Map<LocalDate, Bucket> days = new TreeMap<>();
+        try (Stream<TransactionAmountRow> rows = transactionRepository.streamRollupAmounts(salonId)) {
+            rows.forEach(row -> days
+                    .computeIfAbsent(salonTimeZones.toSalonDate(row.getCreatedAt(), zone), d -> new Bucket())
+                    .add(row.getTotalAmount(), 1));
+        }
+
+        Map<LocalDate, Bucket> weeks = new TreeMap<>();
+        Map<LocalDate, Bucket> months = new TreeMap<>();
+        days.forEach((day, total) -> {
+            weeks.computeIfAbsent(bucketStart(day, Granularity.WEEK), d -> new Bucket()).add(total.revenue, total.count);
+            months.computeIfAbsent(bucketStart(day, Granularity.MONTH), d -> new Bucket()).add(total.revenue, total.count);
+        });
+
+        rollupRepository.deleteBySalonId(salonId);
+        List<RevenueRollup> rollups = new ArrayList<>();
+        addRollups(rollups, salon, Granularity.DAY, days);
+        addRollups(rollups, salon, Granularity.WEEK, weeks);
+        addRollups(rollups, salon, Granularity.MONTH, months);
+        rollupRepository.saveAll(rollups);
+    }
+
+    /** Builds the rollups of salons that have never been built (first start after the V6 migration). */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissing() {
+        for (String salonId : rollupStateRepository.findSalonIdsToBuild()) {
+            transactionTemplate.executeWithoutResult(status -> rebuild(salonId));
+            log.info("Rollups de revenus reconstruits pour le salon {}", salonId);
+        }
+    }
+
+    /**
+     * Creates the lock row of a new salon, in the transaction that creates the salon: it has no
+     * transactions yet, so its rollups are complete from the start. Creating it on first write
+     * instead would let two concurrent first writers both insert it.
+     */
+    public void register(String salonId) {
+        rollupStateRepository.save(new RevenueRollupState(salonId, LocalDateTime.now()));
+    }
+
+    /**
+     * Locks the rollups of these salons until the end of the current transaction. The writers of
+     * client visit statistics take the same lock, so that a statistics rebuild never interleaves
+     * with their deltas either. Every salon has its row (V6 migration, then {@link #register}).
+     */
+    public Map<String, RevenueRollupState> lock(Collection<String> salonIds) {
+        Map<String, RevenueRollupState> states = new HashMap<>();
+        rollupStateRepository.lockAll(salonIds).forEach(state -> states.put(state.getSalonId(), state));
+        for (String salonId : salonIds) {
+            if (!states.containsKey(salonId)) {
+                throw new IllegalStateException("Etat des rollups absent pour le salon " + salonId);
+            }
+        }
+        return states;
+    }
+
+    public final class RollupBatch {
+
+        private final Map<DayKey, Bucket> days = new HashMap<>();
+
+        private RollupBatch() {}
+
+        public void add(String salonId, LocalDateTime createdAt, BigDecimal revenueDelta, int countDelta) {
+            LocalDate day = salonTimeZones.toSalonDate(createdAt, salonTimeZones.zoneOf(salonId));
+            days.computeIfAbsent(new DayKey(salonId, day), k -> new Bucket()).add(revenueDelta, countDelta);
+        }
+
+        /** One MERGE per touched bucket, however many deltas fell into it. */
+        public void flush() {
+            if (days.isEmpty()) return;
+            Set<String> salonIds = new HashSet<>();
+            days.keySet().forEach(key -> salonIds.add(key.salonId()));
+            lock(salonIds);
+
+            Map<BucketKey, Bucket> buckets = new HashMap<>();
+            days.forEach((key, delta) -> {
+                for (Granularity g : Granularity.values()) {
+                    buckets.computeIfAbsent(new BucketKey(key.salonId(), g, bucketStart(key.day(), g)), k -> new Bucket())
+                            .add(delta.revenue, delta.count);
+                }
+            });
+            buckets.forEach((key, delta) -> rollupRepository.applyDelta(IdGenerator.newId(),
+                    key.salonId(), key.granularity().name(), key.bucketStart(), delta.revenue, delta.count));
+            days.clear();
+        }
+    }
+
+    static LocalDate bucketStart(LocalDate day, Granularity granularity) {
+        return switch (granularity) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    private static LocalDate nextBucket(LocalDate bucket, Granularity granularity) {
+        return switch (granularity) {
+            case DAY -> bucket.plusDays(1);
+            case WEEK -> bucket.plusWeeks(1);
+            case MONTH -> bucket.plusMonths(1);
+        };
+    }
+
+    private static void addRollups(List<RevenueRollup> out, Salon salon, Granularity granularity,
+                                   Map<LocalDate, Bucket> buckets) {
+        buckets.forEach((start, total) -> out.add(RevenueRollup.builder()
+                .id(IdGenerator.newId())
+                .salon(salon)
+                .granularity(granularity)
+                .bucketStart(start)
+                .revenue(total.revenue)
+                .transactionCount(total.count)
+                .build()));
+    }
+
+    private record DayKey(String salonId, LocalDate day) {}
+
+    private record BucketKey(String salonId, Granularity granularity, LocalDate bucketStart) {}
+
+    private static final class Bucket {
+        BigDecimal revenue = BigDecimal.ZERO;
+        int count;
+
+        Bucket add(BigDecimal amount, int n) {
+            revenue = revenue.add(amount);
+            count += n;
+            return this;
+        }
+    }
+}
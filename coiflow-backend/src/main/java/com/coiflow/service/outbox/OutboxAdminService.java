@@ -0,0 +1,35 @@
+package com.coiflow.service.outbox;
+
+import com.coiflow.repository.outbox.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxAdminService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxDispatcher outboxDispatcher;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public OutboxDispatcher.Stats getMetrics() {
+        return outboxDispatcher.stats();
+    }
+
+    /**
+     * Requeues dead-lettered events (of one salon, or all when salonId is null) with fresh attempts.
+     * Replayed deltas add to the current rollups and client spend, so a salon rebuilt while its
+     * events were dead should be rebuilt again once they are delivered.
+     */
+    @Transactional
+    @PreAuthorize("hasRole('ADMIN')")
+    public int replayFailed(String salonId) {
+        int replayed = outboxEventRepository.replayFailed(salonId);
+        log.info("{} evenements outbox remis en file", replayed);
+        return replayed;
+    }
+}
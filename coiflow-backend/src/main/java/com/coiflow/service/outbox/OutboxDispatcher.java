@@ -0,0 +1,150 @@
+package com.coiflow.service.outbox;
+
+import com.coiflow.model.outbox.OutboxEvent;
+import com.coiflow.repository.outbox.OutboxEventRepository;
+import com.coiflow.service.dashboard.RevenueRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Polls the outbox and applies pending events in batches (at-least-once).
+ * A batch runs in one transaction; if it fails, its events are retried one by one so that
+ * a single bad event cannot block the others. A failed event waits an exponential backoff
+ * before its next attempt and is dead-lettered after max-attempts, until an admin replays it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxDispatcher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionEventHandler transactionEventHandler;
+    private final RevenueRollupService revenueRollupService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${outbox.backoff-base-seconds:5}")
+    private long backoffBaseSeconds;
+
+    @Value("${outbox.backoff-max-seconds:3600}")
+    private long backoffMaxSeconds;
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        while (true) {
+            List<String> ids = outboxEventRepository.findPendingIds(LocalDateTime.now(), PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) return;
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> process(ids));
+                delivered.add(ids.size());
+            } catch (RuntimeException e) {
+                log.warn("Lot outbox en echec ({} evenements), traitement unitaire", ids.size(), e);
+                ids.forEach(this::processOne);
+                // Whatever failed now waits for its backoff; the rest is picked up by the next poll
+                return;
+            }
+            if (ids.size() < batchSize) return;
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(outboxEventRepository.countByProcessedAtIsNullAndFailedAtIsNull(),
+                outboxEventRepository.countByFailedAtIsNotNull(),
+                delivered.sum(), failures.sum(), deadLettered.sum());
+    }
+
+    @Scheduled(cron = "${outbox.purge-cron:0 15 * * * *}")
+    public void purgeProcessed() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteProcessedBefore(LocalDateTime.now().minusDays(retentionDays)));
+        if (deleted != null && deleted > 0) {
+            log.info("{} evenements outbox traites supprimes", deleted);
+        }
+    }
+
+    private void processOne(String id) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> process(List.of(id)));
+            delivered.increment();
+        } catch (RuntimeException e) {
+            failures.increment();
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            try {
+                transactionTemplate.executeWithoutResult(status -> outboxEventRepository.findById(id)
+                        .ifPresent(event -> recordFailure(event, message, e)));
+            } catch (RuntimeException recordError) {
+                // The event stays pending and is retried at the next poll
+                log.error("Echec de l'enregistrement de l'erreur de l'evenement outbox {}", id, recordError);
+            }
+        }
+    }
+
+    private void recordFailure(OutboxEvent event, String message, RuntimeException cause) {
+        LocalDateTime now = LocalDateTime.now();
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+        if (attempts >= maxAttempts) {
+            event.setFailedAt(now);
+            event.setNextAttemptAt(null);
+            deadLettered.increment();
+            log.error("Evenement outbox {} abandonne apres {} tentatives", event.getId(), attempts, cause);
+        } else {
+            event.setNextAttemptAt(now.plusSeconds(backoffSeconds(attempts)));
+            log.warn("Evenement outbox {} en echec (tentative {})", event.getId(), attempts, cause);
+        }
+    }
+
+    /** base, 2 x base, 4 x base... capped at backoff-max-seconds. */
+    private long backoffSeconds(int attempts) {
+        int shift = Math.min(attempts - 1, 30);
+        return Math.min(backoffMaxSeconds, backoffBaseSeconds << shift);
+    }
+
+    private void process(List<String> ids) {
+        RevenueRollupService.RollupBatch rollups = revenueRollupService.newBatch();
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = new ArrayList<>();
+        for (String id : ids) {
+            // Claim first: a concurrent dispatcher that already processed the event makes this a no-op
+            if (outboxEventRepository.claim(id, now) == 0) continue;
+            events.add(outboxEventRepository.findById(id).orElseThrow());
+        }
+        if (events.isEmpty()) return;
+        // Before any write: client statistics deltas wait for a rebuild of their salon, like rollups
+        revenueRollupService.lock(events.stream().map(OutboxEvent::getSalonId).collect(Collectors.toSet()));
+        for (OutboxEvent event : events) {
+            transactionEventHandler.handle(event, rollups);
+        }
+        rollups.flush();
+    }
+
+    /**
+     * Pending and dead-lettered events in the outbox, and counters since startup.
+     */
+    public record Stats(long pending, long failed, long delivered, long failures, long deadLettered) {}
+}
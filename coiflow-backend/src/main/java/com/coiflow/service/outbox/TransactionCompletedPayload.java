@@ -0,0 +1,10 @@
+package com.coiflow.service.outbox;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Payload of a TRANSACTION_COMPLETED event: the commission as computed at cashing time, so that
+ * a rate changed before the event is processed does not change what the barber earned.
+ */
+public record TransactionCompletedPayload(BigDecimal rate, BigDecimal amount, LocalDate serviceDate) {}
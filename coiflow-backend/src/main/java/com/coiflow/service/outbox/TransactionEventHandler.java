@@ -0,0 +1,88 @@
+package com.coiflow.service.outbox;
+
+import com.coiflow.model.IdGenerator;
+import com.coiflow.model.commission.Commission;
+import com.coiflow.model.outbox.OutboxEvent;
+import com.coiflow.model.transaction.Transaction;
+import com.coiflow.repository.client.ClientRepository;
+import com.coiflow.repository.commission.CommissionRepository;
+import com.coiflow.repository.transaction.TransactionRepository;
+import com.coiflow.service.dashboard.RevenueRollupService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Side effects of cashing and voiding, applied by the outbox dispatcher.
+ * Handlers are idempotent: a commission is created at most once per transaction,
+ * and rollup and client spend deltas are only applied by the dispatcher that claimed the event.
+ * The commission itself is computed at cashing time and carried by the event; it is only recorded here.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionEventHandler {
+
+    private final TransactionRepository transactionRepository;
+    private final CommissionRepository commissionRepository;
+    private final ClientRepository clientRepository;
+    private final ObjectMapper objectMapper;
+
+    public void handle(OutboxEvent event, RevenueRollupService.RollupBatch rollups) {
+        Transaction t = transactionRepository.findById(event.getAggregateId()).orElse(null);
+        if (t == null) {
+            log.warn("Evenement {} ignore: transaction {} introuvable", event.getId(), event.getAggregateId());
+            return;
+        }
+
+        switch (event.getEventType()) {
+            case TRANSACTION_COMPLETED -> {
+                createCommission(t, readPayload(event));
+                rollups.add(event.getSalonId(), t.getCreatedAt(), t.getTotalAmount(), 1);
+                addClientSpend(t, t.getTotalAmount());
+            }
+            case TRANSACTION_VOIDED -> {
+                rollups.add(event.getSalonId(), t.getCreatedAt(), t.getTotalAmount().negate(), -1);
+                addClientSpend(t, t.getTotalAmount().negate());
+            }
+        }
+    }
+
+    private void addClientSpend(Transaction t, BigDecimal delta) {
+        if (t.getAppointment() != null && t.getAppointment().getClient() != null) {
+            clientRepository.addSpend(t.getAppointment().getClient().getId(), delta);
+        }
+    }
+
+    private TransactionCompletedPayload readPayload(OutboxEvent event) {
+        if (event.getPayload() == null) {
+            throw new IllegalStateException("Evenement " + event.getId() + " sans commission");
+        }
+        try {
+            return objectMapper.readValue(event.getPayload(), TransactionCompletedPayload.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Commission illisible dans l'evenement " + event.getId(), e);
+        }
+    }
+
+    private void createCommission(Transaction t, TransactionCompletedPayload commission) {
+        if (commissionRepository.findByTransactionId(t.getId()).isPresent()) {
+            return;
+        }
+
+        commissionRepository.save(Commission.builder()
+                .id(IdGenerator.newId())
+                .salon(t.getSalon())
+                .barber(t.getBarber())
+                .transaction(t)
+                .rateApplied(commission.rate())
+                .amount(commission.amount())
+                .periodStart(commission.serviceDate())
+                .periodEnd(commission.serviceDate())
+                .build());
+    }
+}
@@ -1,31 +1,49 @@
 package com.coiflow.service.salon;
 
 import com.coiflow.dto.salon.CreateSalonRequest;
+import com.coiflow.dto.salon.SalonPageResponse;
 import com.coiflow.dto.salon.SalonResponse;
 import com.coiflow.dto.salon.UpdateSalonRequest;
 import com.coiflow.exception.ResourceNotFoundException;
 import com.coiflow.mapper.SalonMapper;
+import com.coiflow.model.IdGenerator;
 import com.coiflow.model.salon.Salon;
 import com.coiflow.model.user.Manager;
 import com.coiflow.repository.salon.SalonRepository;
+import com.coiflow.repository.user.ManagerRow;
 import com.coiflow.repository.user.UtilisateurRepository;
+import com.coiflow.security.PrincipalCache;
+import com.coiflow.security.RevocationEpochs;
+import com.coiflow.service.dashboard.RevenueRollupService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Locale;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class SalonService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final SalonRepository salonRepository;
     private final UtilisateurRepository utilisateurRepository;
     private final PasswordEncoder passwordEncoder;
     private final SalonMapper salonMapper;
+    private final SalonTimeZones salonTimeZones;
+    private final RevenueRollupService revenueRollupService;
+    private final PrincipalCache principalCache;
+    private final RevocationEpochs revocationEpochs;
 
     @Transactional
     @PreAuthorize("hasRole('ADMIN')")
@@ -35,17 +53,21 @@ public class SalonService {
         }
 
         Salon salon = Salon.builder()
-                .id(UUID.randomUUID().toString())
+                .id(IdGenerator.newId())
                 .name(request.getName())
                 .address(request.getAddress())
                 .phone(request.getPhone())
                 .email(request.getEmail())
                 .active(true)
                 .build();
+        if (request.getTimeZone() != null && !request.getTimeZone().isBlank()) {
+            salon.setTimeZone(SalonTimeZones.parse(request.getTimeZone().trim()).getId());
+        }
         salonRepository.save(salon);
+        revenueRollupService.register(salon.getId());
 
         Manager manager = new Manager();
-        manager.setId(UUID.randomUUID().toString());
+        manager.setId(IdGenerator.newId());
         manager.setSalon(salon);
         manager.setFirstName(request.getManagerFirstName());
         manager.setLastName(request.getManagerLastName());
@@ -60,19 +82,28 @@ public class SalonService {
         return response;
     }
 
+    /**
+     * One page of salons, by name, with their primary manager: one query for the page (plus its
+     * count) and one for the managers of all salons on it.
+     */
+    @Transactional(readOnly = true)
     @PreAuthorize("hasRole('ADMIN')")
-    public List<SalonResponse> getAllSalons() {
-        return salonRepository.findAll().stream()
-                .map(salon -> {
-                    SalonResponse r = salonMapper.toResponse(salon);
-                    utilisateurRepository.findBySalonIdAndTypeAndActive(salon.getId(), Manager.class, true)
-                            .stream().findFirst().ifPresent(m -> {
-                                r.setManagerId(m.getId());
-                                r.setManagerName(m.getFirstName() + " " + m.getLastName());
-                            });
-                    return r;
-                })
-                .toList();
+    public SalonPageResponse getAllSalons(String search, Boolean active, int page, int size) {
+        String pattern = search == null || search.isBlank()
+                ? null
+                : "%" + search.trim().toLowerCase(Locale.ROOT) + "%";
+        Page<Salon> salons = salonRepository.search(pattern, active,
+                PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE)),
+                        Sort.by("name").and(Sort.by("id"))));
+
+        Map<String, ManagerRow> managers = primaryManagers(salons.map(Salon::getId).getContent());
+        return SalonPageResponse.builder()
+                .items(salons.map(salon -> toResponse(salon, managers.get(salon.getId()))).getContent())
+                .page(salons.getNumber())
+                .size(salons.getSize())
+                .totalElements(salons.getTotalElements())
+                .totalPages(salons.getTotalPages())
+                .build();
     }
 
     @Transactional
@@ -85,13 +116,20 @@ public class SalonService {
         salon.setPhone(request.getPhone());
         salon.setEmail(request.getEmail());
 
-        SalonResponse response = salonMapper.toResponse(salonRepository.save(salon));
-        utilisateurRepository.findBySalonIdAndTypeAndActive(id, Manager.class, true)
-                .stream().findFirst().ifPresent(m -> {
-                    response.setManagerId(m.getId());
-                    response.setManagerName(m.getFirstName() + " " + m.getLastName());
-                });
-        return response;
+        boolean zoneChanged = false;
+        if (request.getTimeZone() != null && !request.getTimeZone().isBlank()) {
+            String zone = SalonTimeZones.parse(request.getTimeZone().trim()).getId();
+            zoneChanged = !zone.equals(salon.getTimeZone());
+            salon.setTimeZone(zone);
+        }
+
+        Salon saved = salonRepository.save(salon);
+        if (zoneChanged) {
+            // Buckets depend on the salon's local dates
+            salonTimeZones.invalidate(id);
+            revenueRollupService.rebuild(id);
+        }
+        return toResponse(saved, primaryManagers(List.of(id)).get(id));
     }
 
     @Transactional
@@ -101,12 +139,32 @@ public class SalonService {
                 .orElseThrow(() -> new ResourceNotFoundException("Salon introuvable"));
         salon.setActive(!salon.isActive());
 
-        SalonResponse response = salonMapper.toResponse(salonRepository.save(salon));
-        utilisateurRepository.findBySalonIdAndTypeAndActive(id, Manager.class, true)
-                .stream().findFirst().ifPresent(m -> {
-                    response.setManagerId(m.getId());
-                    response.setManagerName(m.getFirstName() + " " + m.getLastName());
-                });
+        Salon saved = salonRepository.save(salon);
+        principalCache.invalidateSalon(id);
+        if (!salon.isActive()) {
+            revocationEpochs.revokeSalon(id);
+        }
+        return toResponse(saved, primaryManagers(List.of(id)).get(id));
+    }
+
+    /** Oldest active manager of each salon, in one query. */
+    private Map<String, ManagerRow> primaryManagers(Collection<String> salonIds) {
+        Map<String, ManagerRow> managers = new HashMap<>();
+        if (salonIds.isEmpty()) {
+            return managers;
+        }
+        for (ManagerRow m : utilisateurRepository.findActiveManagersBySalonIds(salonIds)) {
+            managers.putIfAbsent(m.getSalonId(), m);
+        }
+        return managers;
+    }
+
+    private SalonResponse toResponse(Salon salon, ManagerRow manager) {
+        SalonResponse response = salonMapper.toResponse(salon);
+        if (manager != null) {
+            response.setManagerId(manager.getId());
+            response.setManagerName(manager.getFirstName() + " " + manager.getLastName());
+        }
         return response;
     }
 }
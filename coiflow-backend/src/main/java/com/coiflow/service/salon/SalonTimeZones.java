@@ -0,0 +1,64 @@
+package com.coiflow.service.salon;
+
+import com.coiflow.cache.TtlCache;
+import com.coiflow.repository.salon.SalonRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Resolves a salon's local time zone and converts between salon-local dates and
+ * server-local timestamps (audit columns are written with the JVM default zone).
+ */
+@Component
+@RequiredArgsConstructor
+public class SalonTimeZones {
+
+    public static final ZoneId DEFAULT_ZONE = ZoneId.of("Africa/Algiers");
+
+    private final SalonRepository salonRepository;
+
+    private final TtlCache<String, ZoneId> zones = new TtlCache<>(10_000, Duration.ofMinutes(10));
+
+    public ZoneId zoneOf(String salonId) {
+        return zones.get(salonId, id -> salonRepository.findTimeZoneById(id)
+                .map(SalonTimeZones::parse)
+                .orElse(DEFAULT_ZONE));
+    }
+
+    public void invalidate(String salonId) {
+        zones.invalidate(salonId);
+    }
+
+    public LocalDate today(ZoneId zone) {
+        return LocalDate.now(zone);
+    }
+
+    /** Salon-local calendar date of a server-local timestamp. */
+    public LocalDate toSalonDate(LocalDateTime serverTime, ZoneId zone) {
+        return serverTime.atZone(ZoneId.systemDefault()).withZoneSameInstant(zone).toLocalDate();
+    }
+
+    /** Salon-local wall-clock time of a server-local timestamp. */
+    public LocalDateTime toSalonTime(LocalDateTime serverTime, ZoneId zone) {
+        return serverTime.atZone(ZoneId.systemDefault()).withZoneSameInstant(zone).toLocalDateTime();
+    }
+
+    /** Server-local timestamp at which the given salon-local day starts. */
+    public LocalDateTime startOfDay(LocalDate salonDate, ZoneId zone) {
+        return salonDate.atStartOfDay(zone).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
+    public static ZoneId parse(String timeZone) {
+        try {
+            return ZoneId.of(timeZone);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Fuseau horaire invalide: " + timeZone);
+        }
+    }
+}
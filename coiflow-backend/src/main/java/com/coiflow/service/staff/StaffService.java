@@ -4,11 +4,14 @@ import com.coiflow.dto.staff.CreateStaffRequest;
 import com.coiflow.dto.staff.StaffResponse;
 import com.coiflow.dto.staff.UpdateStaffRequest;
 import com.coiflow.exception.ResourceNotFoundException;
+import com.coiflow.model.IdGenerator;
 import com.coiflow.model.salon.Salon;
 import com.coiflow.model.user.Barber;
 import com.coiflow.model.user.Utilisateur;
 import com.coiflow.repository.salon.SalonRepository;
 import com.coiflow.repository.user.UtilisateurRepository;
+import com.coiflow.security.PrincipalCache;
+import com.coiflow.security.RevocationEpochs;
 import com.coiflow.security.TenantContextHolder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -17,7 +20,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +28,8 @@ public class StaffService {
     private final UtilisateurRepository utilisateurRepository;
     private final SalonRepository salonRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final RevocationEpochs revocationEpochs;
 
     private String requireSalonId() {
         String salonId = TenantContextHolder.getSalonId();
@@ -57,7 +61,7 @@ public class StaffService {
                 .orElseThrow(() -> new ResourceNotFoundException("Salon introuvable"));
 
         Barber barber = new Barber();
-        barber.setId(UUID.randomUUID().toString());
+        barber.setId(IdGenerator.newId());
         barber.setSalon(salon);
         barber.setFirstName(request.getFirstName());
         barber.setLastName(request.getLastName());
@@ -83,7 +87,9 @@ public class StaffService {
         barber.setLastName(request.getLastName());
         barber.setCommissionRate(request.getCommissionRate());
 
-        return toResponse((Barber) utilisateurRepository.save(barber));
+        Barber saved = (Barber) utilisateurRepository.save(barber);
+        principalCache.invalidateUser(id);
+        return toResponse(saved);
     }
 
     @Transactional
@@ -95,6 +101,9 @@ public class StaffService {
                 .orElseThrow(() -> new ResourceNotFoundException("Coiffeur introuvable"));
         u.setActive(false);
         utilisateurRepository.save(u);
+        // Deactivation must take effect on the barber's next request
+        principalCache.invalidateUser(id);
+        revocationEpochs.revokeUser(id);
     }
 
     private StaffResponse toResponse(Barber barber) {
@@ -4,19 +4,29 @@ import com.coiflow.dto.transaction.CreateTransactionRequest;
 import com.coiflow.dto.transaction.TransactionResponse;
 import com.coiflow.exception.BusinessException;
 import com.coiflow.exception.ResourceNotFoundException;
+import com.coiflow.model.IdGenerator;
 import com.coiflow.model.appointment.Appointment;
 import com.coiflow.model.appointment.AppointmentServiceItem;
 import com.coiflow.model.commission.Commission;
 import com.coiflow.model.enums.AppointmentStatus;
+import com.coiflow.model.enums.OutboxEventType;
 import com.coiflow.model.enums.TransactionStatus;
+import com.coiflow.model.outbox.OutboxEvent;
 import com.coiflow.model.transaction.Payment;
 import com.coiflow.model.transaction.Transaction;
 import com.coiflow.model.user.Barber;
 import com.coiflow.model.user.Utilisateur;
 import com.coiflow.repository.appointment.AppointmentRepository;
+import com.coiflow.repository.commission.CommissionPeriodRepository;
 import com.coiflow.repository.commission.CommissionRepository;
+import com.coiflow.repository.outbox.OutboxEventRepository;
+import com.coiflow.repository.salon.SalonRepository;
 import com.coiflow.repository.transaction.TransactionRepository;
 import com.coiflow.security.TenantContextHolder;
+import com.coiflow.service.commission.CommissionCalculator;
+import com.coiflow.service.outbox.TransactionCompletedPayload;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.Hibernate;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -29,7 +39,6 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -38,6 +47,10 @@ public class TransactionService {
     private final TransactionRepository transactionRepository;
     private final AppointmentRepository appointmentRepository;
     private final CommissionRepository commissionRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final CommissionPeriodRepository periodRepository;
+    private final SalonRepository salonRepository;
+    private final ObjectMapper objectMapper;
 
     private String requireSalonId() {
         String salonId = TenantContextHolder.getSalonId();
@@ -66,6 +79,14 @@ public class TransactionService {
             throw new BusinessException("ALREADY_CASHED", "Ce rendez-vous a deja ete encaisse");
         }
 
+        // Shared salon lock until commit: a period close cannot slip between this check and the sale
+        salonRepository.lockSharedById(salonId);
+        LocalDate serviceDate = appointment.getStartTime().toLocalDate();
+        if (periodRepository.existsOverlapping(salonId, serviceDate, serviceDate)) {
+            throw new BusinessException("PERIOD_CLOSED",
+                    "La periode de commission de ce rendez-vous est cloturee, il ne peut plus etre encaisse");
+        }
+
         // Calculate total from appointment services
         BigDecimal totalAmount = appointment.getServices().stream()
                 .map(AppointmentServiceItem::getPriceApplied)
@@ -84,7 +105,7 @@ public class TransactionService {
 
         // Create transaction
         Transaction transaction = Transaction.builder()
-                .id(UUID.randomUUID().toString())
+                .id(IdGenerator.newId())
                 .salon(appointment.getSalon())
                 .appointment(appointment)
                 .barber(appointment.getBarber())
@@ -96,7 +117,7 @@ public class TransactionService {
         // Create payments
         List<Payment> payments = request.getPayments().stream()
                 .map(pl -> Payment.builder()
-                        .id(UUID.randomUUID().toString())
+                        .id(IdGenerator.newId())
                         .transaction(transaction)
                         .method(pl.getMethod())
                         .amount(pl.getAmount().setScale(2, RoundingMode.HALF_UP))
@@ -104,27 +125,22 @@ public class TransactionService {
                 .toList();
         transaction.getPayments().addAll(payments);
 
-        transactionRepository.save(transaction);
-
-        // Auto-create commission (unproxy to resolve Hibernate STI proxy)
+        // Commission at the rate in force now; the outbox handler records it with the revenue rollups
         Barber barber = (Barber) Hibernate.unproxy(appointment.getBarber());
-        BigDecimal commissionRate = barber.getCommissionRate() != null ? barber.getCommissionRate() : BigDecimal.ZERO;
-        BigDecimal commissionAmount = totalAmount.multiply(commissionRate)
-                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+        BigDecimal commissionRate = CommissionCalculator.rateOf(barber);
+        BigDecimal commissionAmount = CommissionCalculator.amount(totalAmount, commissionRate);
+
+        // The id is assigned, so save() merges: only the returned copy is managed and audited
+        Transaction saved = transactionRepository.save(transaction);
+        publish(salonId, OutboxEventType.TRANSACTION_COMPLETED, saved.getId(),
+                new TransactionCompletedPayload(commissionRate, commissionAmount, serviceDate));
 
         Commission commission = Commission.builder()
-                .id(UUID.randomUUID().toString())
-                .salon(appointment.getSalon())
-                .barber(barber)
-                .transaction(transaction)
                 .rateApplied(commissionRate)
                 .amount(commissionAmount)
-                .periodStart(appointment.getStartTime().toLocalDate())
-                .periodEnd(appointment.getStartTime().toLocalDate())
                 .build();
-        commissionRepository.save(commission);
 
-        return toResponse(transaction, commission);
+        return toResponse(saved, commission);
     }
 
     @PreAuthorize("hasRole('MANAGER')")
@@ -165,12 +181,27 @@ public class TransactionService {
 
         t.setStatus(TransactionStatus.VOIDED);
         transactionRepository.save(t);
+        publish(salonId, OutboxEventType.TRANSACTION_VOIDED, t.getId(), null);
 
         // Commission is NOT voided — audit trail
         Commission c = commissionRepository.findByTransactionId(t.getId()).orElse(null);
         return toResponse(t, c);
     }
 
+    private void publish(String salonId, OutboxEventType type, String transactionId, Object payload) {
+        try {
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .id(IdGenerator.newId())
+                    .salonId(salonId)
+                    .eventType(type)
+                    .aggregateId(transactionId)
+                    .payload(payload != null ? objectMapper.writeValueAsString(payload) : null)
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Evenement " + type + " non serialisable", e);
+        }
+    }
+
     private TransactionResponse toResponse(Transaction t, Commission c) {
         List<TransactionResponse.PaymentLineResponse> paymentLines = t.getPayments().stream()
                 .map(p -> TransactionResponse.PaymentLineResponse.builder()
@@ -0,0 +1,53 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HexFormat;
+
+/**
+ * Replaces the stored refresh JWT (up to 1000 chars, unique-indexed) with its SHA-256 digest.
+ * Written in Java because H2 and PostgreSQL have no common SQL digest function.
+ */
+public class V12__hash_refresh_tokens extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+
+        try (Statement st = connection.createStatement()) {
+            st.execute("ALTER TABLE refresh_tokens ADD COLUMN token_hash VARCHAR(64)");
+        }
+
+        MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+        try (Statement select = connection.createStatement();
+             ResultSet rs = select.executeQuery("SELECT id, token FROM refresh_tokens");
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE refresh_tokens SET token_hash = ? WHERE id = ?")) {
+            int pending = 0;
+            while (rs.next()) {
+                byte[] hash = sha256.digest(rs.getString(2).getBytes(StandardCharsets.UTF_8));
+                update.setString(1, HexFormat.of().formatHex(hash));
+                update.setString(2, rs.getString(1));
+                update.addBatch();
+                if (++pending % 500 == 0) {
+                    update.executeBatch();
+                }
+            }
+            update.executeBatch();
+        }
+
+        try (Statement st = connection.createStatement()) {
+            st.execute("DROP INDEX IF EXISTS idx_refresh_token");
+            st.execute("ALTER TABLE refresh_tokens DROP COLUMN token");
+            st.execute("ALTER TABLE refresh_tokens ALTER COLUMN token_hash SET NOT NULL");
+            st.execute("CREATE UNIQUE INDEX idx_refresh_token_hash ON refresh_tokens(token_hash)");
+        }
+    }
+}
@@ -0,0 +1,31 @@
+-- Commission recalculation jobs: progress and resume checkpoint of a rate correction
+CREATE TABLE commission_recalculations (
+    id                VARCHAR(36)  NOT NULL PRIMARY KEY,
+    salon_id          VARCHAR(36)  NOT NULL,
+    barber_id         VARCHAR(36)  NOT NULL,
+    period_start      DATE         NOT NULL,
+    period_end        DATE         NOT NULL,
+    rate              DECIMAL(5,2) NOT NULL,
+    status            VARCHAR(20)  NOT NULL,
+    total_count       BIGINT       NOT NULL DEFAULT 0,
+    processed_count   BIGINT       NOT NULL DEFAULT 0,
+    updated_count     BIGINT       NOT NULL DEFAULT 0,
+    resumed_from      BIGINT       NOT NULL DEFAULT 0,
+    checkpoint_date   DATE,
+    checkpoint_id     VARCHAR(36),
+    last_error        VARCHAR(500),
+    owner             VARCHAR(36),
+    heartbeat_at      TIMESTAMP,
+    created_by        VARCHAR(36)  NOT NULL,
+    created_at        TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at        TIMESTAMP,
+    finished_at       TIMESTAMP,
+    CONSTRAINT fk_recalc_salon   FOREIGN KEY (salon_id)   REFERENCES salons(id),
+    CONSTRAINT fk_recalc_barber  FOREIGN KEY (barber_id)  REFERENCES utilisateur(id),
+    CONSTRAINT fk_recalc_creator FOREIGN KEY (created_by) REFERENCES utilisateur(id)
+);
+
+CREATE INDEX idx_recalc_salon ON commission_recalculations(salon_id, created_at);
+
+-- The job scans a barber's commissions by service date in (period_start, id) order
+CREATE INDEX idx_commission_barber_period ON commissions(barber_id, period_start, id);
@@ -0,0 +1,3 @@
+-- Revocation epochs embedded in access tokens; bumping one invalidates the tokens issued before
+ALTER TABLE utilisateur ADD COLUMN token_epoch BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE salons ADD COLUMN token_epoch BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,2 @@
+-- Lets the purge job find expired refresh tokens without scanning the table
+CREATE INDEX idx_refresh_token_expires ON refresh_tokens(expires_at);
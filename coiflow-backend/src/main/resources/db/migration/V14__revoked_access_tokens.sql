@@ -0,0 +1,10 @@
+-- Access tokens revoked by a logout, denied by every instance until they expire
+CREATE TABLE revoked_access_tokens (
+    jti         VARCHAR(36)  NOT NULL PRIMARY KEY,
+    expires_at  TIMESTAMP    NOT NULL,
+    revoked_at  TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Instances load the revocations made since their last sync; expired rows are purged
+CREATE INDEX idx_revoked_token_revoked_at ON revoked_access_tokens(revoked_at);
+CREATE INDEX idx_revoked_token_expires_at ON revoked_access_tokens(expires_at);
@@ -0,0 +1,2 @@
+-- Keyset pagination of the client directory: (last_name, first_name, id) within a salon
+CREATE INDEX idx_client_salon_name ON clients(salon_id, last_name, first_name, id);
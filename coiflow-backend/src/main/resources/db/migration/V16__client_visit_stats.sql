@@ -0,0 +1,31 @@
+-- Denormalized visit statistics, maintained on appointment completion and by the transaction outbox
+ALTER TABLE clients ADD COLUMN last_visit_at TIMESTAMP;
+ALTER TABLE clients ADD COLUMN visit_count INT NOT NULL DEFAULT 0;
+ALTER TABLE clients ADD COLUMN lifetime_spend DECIMAL(12,2) NOT NULL DEFAULT 0;
+
+-- Directory sort keys (scanned backward for descending order)
+CREATE INDEX idx_client_salon_last_visit ON clients(salon_id, last_visit_at, id);
+CREATE INDEX idx_client_salon_visit_count ON clients(salon_id, visit_count, id);
+CREATE INDEX idx_client_salon_spend ON clients(salon_id, lifetime_spend, id);
+
+-- Backfill; transactions with a pending outbox event are left to the dispatcher (dead-lettered
+-- events are not pending: they are only delivered if replayed)
+UPDATE clients c SET
+    visit_count = (SELECT COUNT(*) FROM appointments a
+                   WHERE a.client_id = c.id AND a.status = 'COMPLETED'),
+    last_visit_at = (SELECT MAX(a.start_time) FROM appointments a
+                     WHERE a.client_id = c.id AND a.status = 'COMPLETED'),
+    lifetime_spend = COALESCE((
+        SELECT SUM(t.total_amount)
+        FROM transactions t
+        JOIN appointments a ON a.id = t.appointment_id
+        WHERE a.client_id = c.id
+          AND (t.status = 'COMPLETED'
+               OR EXISTS (SELECT 1 FROM outbox_events e
+                          WHERE e.aggregate_id = t.id
+                            AND e.processed_at IS NULL AND e.failed_at IS NULL
+                            AND e.event_type = 'TRANSACTION_VOIDED'))
+          AND NOT EXISTS (SELECT 1 FROM outbox_events e
+                          WHERE e.aggregate_id = t.id
+                            AND e.processed_at IS NULL AND e.failed_at IS NULL
+                            AND e.event_type = 'TRANSACTION_COMPLETED')), 0);
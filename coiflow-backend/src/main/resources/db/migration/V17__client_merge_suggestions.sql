@@ -0,0 +1,19 @@
+-- Duplicate client suggestions produced by the deduplication job
+CREATE TABLE client_merge_suggestions (
+    id             VARCHAR(36)  NOT NULL PRIMARY KEY,
+    salon_id       VARCHAR(36)  NOT NULL,
+    client_id      VARCHAR(36)  NOT NULL,
+    duplicate_id   VARCHAR(36)  NOT NULL,
+    score          DECIMAL(4,3) NOT NULL,
+    reasons        VARCHAR(100) NOT NULL,
+    status         VARCHAR(20)  NOT NULL DEFAULT 'PENDING',
+    created_at     TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    resolved_at    TIMESTAMP,
+    CONSTRAINT fk_merge_suggestion_salon FOREIGN KEY (salon_id) REFERENCES salons(id),
+    CONSTRAINT uq_merge_suggestion_pair UNIQUE (client_id, duplicate_id)
+);
+
+CREATE INDEX idx_merge_suggestion_salon_status ON client_merge_suggestions(salon_id, status);
+
+-- Merges repoint appointments by client
+CREATE INDEX idx_appointment_client ON appointments(client_id);
@@ -0,0 +1,2 @@
+-- Lets each instance find the catalogs changed elsewhere without scanning the table
+CREATE INDEX idx_services_updated_at ON services(updated_at);
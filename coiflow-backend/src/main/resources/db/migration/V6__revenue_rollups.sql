@@ -0,0 +1,28 @@
+-- Salon local time zone (used for date bucketing of dashboards)
+ALTER TABLE salons ADD COLUMN time_zone VARCHAR(50) NOT NULL DEFAULT 'Africa/Algiers';
+
+-- Precomputed revenue totals per salon and bucket (DAY, WEEK, MONTH).
+-- WEEK and MONTH rows are derived from the DAY totals; bucket_start is the first
+-- day of the bucket in the salon's local time zone (Monday for weeks).
+CREATE TABLE revenue_rollups (
+    id                VARCHAR(36)   NOT NULL PRIMARY KEY,
+    salon_id          VARCHAR(36)   NOT NULL,
+    granularity       VARCHAR(10)   NOT NULL,
+    bucket_start      DATE          NOT NULL,
+    revenue           DECIMAL(14,2) NOT NULL DEFAULT 0,
+    transaction_count INT           NOT NULL DEFAULT 0,
+    CONSTRAINT fk_rollup_salon FOREIGN KEY (salon_id) REFERENCES salons(id)
+);
+
+CREATE UNIQUE INDEX idx_rollup_salon_bucket ON revenue_rollups(salon_id, granularity, bucket_start);
+
+-- One row per salon: locked by every rollup writer so that event deltas and rebuilds of a
+-- salon are serialized, and built_at records that the rollups are complete (NULL = to backfill)
+CREATE TABLE revenue_rollup_states (
+    salon_id  VARCHAR(36)  NOT NULL PRIMARY KEY,
+    built_at  TIMESTAMP,
+    CONSTRAINT fk_rollup_state_salon FOREIGN KEY (salon_id) REFERENCES salons(id)
+);
+
+-- Existing salons are built once at the next start
+INSERT INTO revenue_rollup_states (salon_id) SELECT id FROM salons;
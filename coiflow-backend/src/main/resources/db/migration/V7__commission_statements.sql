@@ -0,0 +1,36 @@
+-- Closed commission periods, recorded even when no barber earned a commission in them
+CREATE TABLE commission_periods (
+    id            VARCHAR(36)  NOT NULL PRIMARY KEY,
+    salon_id      VARCHAR(36)  NOT NULL,
+    period_start  DATE         NOT NULL,
+    period_end    DATE         NOT NULL,
+    closed_by     VARCHAR(36)  NOT NULL,
+    closed_at     TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_period_salon  FOREIGN KEY (salon_id)  REFERENCES salons(id),
+    CONSTRAINT fk_period_closer FOREIGN KEY (closed_by) REFERENCES utilisateur(id),
+    CONSTRAINT chk_period_range CHECK (period_end >= period_start)
+);
+
+CREATE UNIQUE INDEX idx_period_salon_range ON commission_periods(salon_id, period_start, period_end);
+
+-- Payroll statements: one row per barber and closed commission period
+CREATE TABLE commission_statements (
+    id               VARCHAR(36)   NOT NULL PRIMARY KEY,
+    salon_id         VARCHAR(36)   NOT NULL,
+    barber_id        VARCHAR(36)   NOT NULL,
+    period_start     DATE          NOT NULL,
+    period_end       DATE          NOT NULL,
+    total_amount     DECIMAL(12,2) NOT NULL,
+    commission_count INT           NOT NULL,
+    closed_by        VARCHAR(36)   NOT NULL,
+    closed_at        TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_statement_salon  FOREIGN KEY (salon_id)  REFERENCES salons(id),
+    CONSTRAINT fk_statement_barber FOREIGN KEY (barber_id) REFERENCES utilisateur(id),
+    CONSTRAINT fk_statement_closer FOREIGN KEY (closed_by) REFERENCES utilisateur(id),
+    CONSTRAINT chk_statement_period CHECK (period_end >= period_start)
+);
+
+CREATE UNIQUE INDEX idx_statement_salon_period_barber ON commission_statements(salon_id, period_start, period_end, barber_id);
+
+-- Period aggregation filters commissions on their service date
+CREATE INDEX idx_commission_salon_period ON commissions(salon_id, period_start);
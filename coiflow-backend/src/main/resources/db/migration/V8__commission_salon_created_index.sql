@@ -0,0 +1,3 @@
+-- Commission listing filters on salon and a created_at range,
+-- which the single-column idx_commission_salon cannot serve.
+CREATE INDEX idx_commission_salon_created ON commissions(salon_id, created_at);
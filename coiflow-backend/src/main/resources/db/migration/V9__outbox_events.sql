@@ -0,0 +1,18 @@
+-- Transactional outbox: written with the business change, processed asynchronously
+CREATE TABLE outbox_events (
+    id               VARCHAR(36)   NOT NULL PRIMARY KEY,
+    salon_id         VARCHAR(36)   NOT NULL,
+    event_type       VARCHAR(40)   NOT NULL,
+    aggregate_id     VARCHAR(36)   NOT NULL,
+    payload          VARCHAR(1000),
+    attempts         INT           NOT NULL DEFAULT 0,
+    last_error       VARCHAR(500),
+    created_at       TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at     TIMESTAMP,
+    next_attempt_at  TIMESTAMP,
+    failed_at        TIMESTAMP
+);
+
+CREATE INDEX idx_outbox_pending ON outbox_events(processed_at, created_at);
+CREATE INDEX idx_outbox_aggregate ON outbox_events(aggregate_id);
+CREATE INDEX idx_outbox_failed ON outbox_events(failed_at);
@@ -0,0 +1,73 @@
+package com.coiflow.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdGeneratorTest {
+
+    @Test
+    void idsAreVersion7WithTheCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = IdGenerator.newUuid();
+        long after = System.currentTimeMillis();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        // Never behind the clock; a burst of earlier ids (4096 per ms) may have borrowed a few ms ahead
+        assertThat(id.getMostSignificantBits() >>> 16).isBetween(before, after + 1_000);
+    }
+
+    @Test
+    void idsAreStrictlyIncreasingAsStrings() {
+        String previous = IdGenerator.newId();
+        for (int i = 0; i < 100_000; i++) {
+            String next = IdGenerator.newId();
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void concurrentCallersNeverGetTheSameTimestampAndCounter() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<UUID>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    List<UUID> ids = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(IdGenerator.newUuid());
+                    }
+                    return ids;
+                }));
+            }
+
+            Set<Long> prefixes = new HashSet<>();
+            for (Future<List<UUID>> future : futures) {
+                long previous = Long.MIN_VALUE;
+                for (UUID id : future.get()) {
+                    long prefix = id.getMostSignificantBits();
+                    // Increasing within each thread, unique across threads even without the random bits
+                    assertThat(prefix).isGreaterThan(previous);
+                    assertThat(prefixes.add(prefix)).isTrue();
+                    previous = prefix;
+                }
+            }
+            assertThat(prefixes).hasSize(threads * perThread);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.coiflow.model;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput and primary-key index size on PostgreSQL, for a table keyed like ours
+ * (VARCHAR(36)): random UUIDs against UUIDv7 from {@link IdGenerator}, plus UUIDv7 in a native
+ * uuid column for reference. Informational and needs Docker, so it only runs on demand:
+ * {@code mvn test -Dtest=UuidInsertBenchmarkTest -Dbenchmark=true}.
+ */
+@Slf4j
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class UuidInsertBenchmarkTest {
+
+    private static final int ROWS = 500_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Test
+    void compareInsertThroughputAndIndexSize() throws Exception {
+        try (Connection connection = DriverManager.getConnection(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())) {
+            // Warm-up, then measure each generator on a fresh table
+            insert(connection, "warmup", "VARCHAR(36)", () -> UUID.randomUUID().toString(), ROWS / 5);
+            Result random = insert(connection, "varchar_random", "VARCHAR(36)", () -> UUID.randomUUID().toString(), ROWS);
+            Result v7 = insert(connection, "varchar_v7", "VARCHAR(36)", IdGenerator::newId, ROWS);
+            Result nativeV7 = insert(connection, "uuid_v7", "UUID", IdGenerator::newId, ROWS);
+
+            // Random keys split pages all over the index; time-ordered ones fill its right edge
+            assertThat(v7.indexBytes()).isLessThan(random.indexBytes());
+        }
+    }
+
+    private static Result insert(Connection connection, String name, String keyType, Supplier<String> ids, int rows)
+            throws Exception {
+        String table = "rows_" + name;
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE " + table + " (id " + keyType + " NOT NULL PRIMARY KEY, salon_id VARCHAR(36) NOT NULL)");
+        }
+        connection.setAutoCommit(false);
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, salon_id) VALUES (?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                insert.setObject(1, ids.get(), "UUID".equals(keyType) ? Types.OTHER : Types.VARCHAR);
+                insert.setString(2, "salon");
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        long elapsed = System.nanoTime() - start;
+        connection.setAutoCommit(true);
+
+        long indexBytes;
+        try (Statement stats = connection.createStatement();
+             ResultSet rs = stats.executeQuery("SELECT COUNT(*), pg_relation_size('" + table + "_pkey') FROM " + table)) {
+            rs.next();
+            assertThat(rs.getInt(1)).isEqualTo(rows);
+            indexBytes = rs.getLong(2);
+        }
+        Result result = new Result(rows * 1_000_000_000L / elapsed, indexBytes);
+        log.info("{}: {} rows/s, index {} MB", name, result.rowsPerSecond(), indexBytes / (1024 * 1024));
+        return result;
+    }
+
+    private record Result(long rowsPerSecond, long indexBytes) {}
+}
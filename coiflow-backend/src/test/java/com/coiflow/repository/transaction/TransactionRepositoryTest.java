@@ -0,0 +1,72 @@
+package com.coiflow.repository.transaction;
+
+import com.coiflow.model.enums.PaymentMethod;
+import com.coiflow.model.enums.TransactionStatus;
+import com.coiflow.model.salon.Salon;
+import com.coiflow.model.transaction.Payment;
+import com.coiflow.model.transaction.Transaction;
+import com.coiflow.model.user.Barber;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class TransactionRepositoryTest {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void cashingReturnsTheManagedAuditedCopy() {
+        Salon salon = entityManager.persist(Salon.builder()
+                .id(UUID.randomUUID().toString())
+                .name("Salon test")
+                .active(true)
+                .build());
+        Barber barber = new Barber();
+        barber.setId(UUID.randomUUID().toString());
+        barber.setSalon(salon);
+        barber.setFirstName("Karim");
+        barber.setLastName("Benali");
+        barber.setEmail("karim@test.local");
+        barber.setPasswordHash("x");
+        barber.setCommissionRate(new BigDecimal("30.00"));
+        entityManager.persist(barber);
+
+        Transaction transaction = Transaction.builder()
+                .id(UUID.randomUUID().toString())
+                .salon(salon)
+                .barber(barber)
+                .totalAmount(new BigDecimal("1500.00"))
+                .status(TransactionStatus.COMPLETED)
+                .createdBy(barber)
+                .build();
+        transaction.getPayments().add(Payment.builder()
+                .id(UUID.randomUUID().toString())
+                .transaction(transaction)
+                .method(PaymentMethod.CASH)
+                .amount(new BigDecimal("1500.00"))
+                .build());
+
+        Transaction saved = transactionRepository.saveAndFlush(transaction);
+
+        // Assigned id and primitive version: save() merges, the builder instance is never managed
+        assertThat(saved).isNotSameAs(transaction);
+        assertThat(transaction.getCreatedAt()).isNull();
+        assertThat(saved.getCreatedAt()).isNotNull();
+        assertThat(saved.getPayments()).hasSize(1);
+
+        entityManager.clear();
+        assertThat(transactionRepository.findById(saved.getId()))
+                .hasValueSatisfying(t -> assertThat(t.getCreatedAt()).isNotNull());
+    }
+}
@@ -0,0 +1,201 @@
+package com.coiflow.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginRateLimiterTest {
+
+    private LoginRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = limiter(1000);
+    }
+
+    @Test
+    void emailIsBlockedAtItsThreshold() {
+        limiter.recordFailure("a@x.com", "1.1.1.1");
+        limiter.recordFailure("a@x.com", "1.1.1.1");
+        assertThat(limiter.isBlocked("a@x.com", "1.1.1.1")).isFalse();
+
+        limiter.recordFailure("a@x.com", "1.1.1.1");
+        assertThat(limiter.isBlocked("a@x.com", "2.2.2.2")).isTrue();
+        assertThat(limiter.isBlocked("b@x.com", "1.1.1.1")).isFalse();
+    }
+
+    @Test
+    void successClearsTheEmailOnly() {
+        limiter.recordFailure("a@x.com", "1.1.1.1");
+        limiter.recordFailure("a@x.com", "1.1.1.1");
+        limiter.recordSuccess("a@x.com");
+        limiter.recordFailure("a@x.com", "1.1.1.1");
+        assertThat(limiter.isBlocked("a@x.com", "1.1.1.1")).isFalse();
+        assertThat(limiter.stats().failures()).isEqualTo(3);
+    }
+
+    @Test
+    void busyIpIsThrottledNotBlocked() throws InterruptedException {
+        ReflectionTestUtils.setField(limiter, "ipThrottleIntervalMs", 200L);
+        for (int i = 0; i < 5; i++) {
+            limiter.recordFailure("user" + i + "@x.com", "9.9.9.9");
+        }
+
+        // One attempt per interval still goes through, for any account behind the address
+        assertThat(limiter.isBlocked("other@x.com", "9.9.9.9")).isFalse();
+        assertThat(limiter.isBlocked("another@x.com", "9.9.9.9")).isTrue();
+        assertThat(limiter.isBlocked("another@x.com", "8.8.8.8")).isFalse();
+
+        Thread.sleep(250);
+        assertThat(limiter.isBlocked("another@x.com", "9.9.9.9")).isFalse();
+
+        LoginRateLimiter.Stats stats = limiter.stats();
+        assertThat(stats.throttledIps()).isEqualTo(1);
+        assertThat(stats.throttled()).isEqualTo(1);
+        assertThat(stats.blockedKeys()).isZero();
+    }
+
+    @Test
+    void concurrentFailuresAreAllCountedAndBlockOnce() throws Exception {
+        int threads = 16;
+        int perThread = 500;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    limiter.recordFailure("victim@x.com", "10.0.0." + (i % 4));
+                    limiter.isBlocked("victim@x.com", "10.0.0." + (i % 4));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        LoginRateLimiter.Stats stats = limiter.stats();
+        assertThat(stats.failures()).isEqualTo((long) threads * perThread);
+        assertThat(stats.blocks()).isEqualTo(1);
+        assertThat(stats.trackedKeys()).isEqualTo(5);
+        assertThat(limiter.isBlocked("victim@x.com", null)).isTrue();
+    }
+
+    @Test
+    void trackedKeysStayBoundedUnderAConcurrentBurst() throws Exception {
+        limiter = limiter(200);
+        int threads = 8;
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 2_000; i++) {
+                    int n = next.incrementAndGet();
+                    limiter.recordFailure("stuffing" + n + "@x.com", "172.16.0." + (n % 250));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        LoginRateLimiter.Stats stats = limiter.stats();
+        // Each check-then-evict may race with the other threads' inserts by at most one key each
+        assertThat(stats.trackedKeys()).isLessThanOrEqualTo(200 + threads);
+        assertThat(stats.evictions()).isPositive();
+        assertThat(stats.failures()).isEqualTo(threads * 2_000L);
+    }
+
+    @Test
+    void evictionKeepsBlockedEmailsAndDropsTheLeastRecentlyFailingKeys() throws InterruptedException {
+        limiter = limiter(4);
+        for (int i = 0; i < 3; i++) {
+            limiter.recordFailure("blocked@x.com", null);
+        }
+        limiter.recordFailure("old@x.com", null);
+        Thread.sleep(5);
+        limiter.recordFailure("recent@x.com", null);
+        Thread.sleep(5);
+        limiter.recordFailure("newer@x.com", null);
+
+        limiter.recordFailure("new@x.com", null);
+
+        assertThat(limiter.isBlocked("blocked@x.com", null)).isTrue();
+        assertThat(limiter.stats().trackedKeys()).isEqualTo(4);
+        assertThat(limiter.stats().evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void newKeyIsNotTrackedWhenOnlyRestrictedKeysRemain() {
+        limiter = limiter(2);
+        for (int i = 0; i < 3; i++) {
+            limiter.recordFailure("a@x.com", null);
+            limiter.recordFailure("b@x.com", null);
+        }
+
+        limiter.recordFailure("c@x.com", null);
+
+        assertThat(limiter.isBlocked("a@x.com", null)).isTrue();
+        assertThat(limiter.isBlocked("b@x.com", null)).isTrue();
+        assertThat(limiter.stats().untracked()).isEqualTo(1);
+    }
+
+    @Test
+    void saturatedMapSkipsEvictionUntilRoomIsFreedOrThePurgeRuns() {
+        limiter = limiter(2);
+        for (int i = 0; i < 3; i++) {
+            limiter.recordFailure("a@x.com", null);
+            limiter.recordFailure("b@x.com", null);
+        }
+        limiter.recordFailure("c@x.com", null);
+        limiter.recordFailure("d@x.com", null);
+        assertThat(limiter.stats().untracked()).isEqualTo(2);
+        assertThat((boolean) ReflectionTestUtils.getField(limiter, "saturated")).isTrue();
+
+        // A slot freed without eviction is used right away
+        limiter.recordSuccess("a@x.com");
+        limiter.recordFailure("e@x.com", null);
+        assertThat(limiter.stats().trackedKeys()).isEqualTo(2);
+        assertThat(limiter.stats().untracked()).isEqualTo(2);
+
+        limiter.purgeIdle();
+        assertThat((boolean) ReflectionTestUtils.getField(limiter, "saturated")).isFalse();
+        limiter.recordFailure("f@x.com", null);
+        // b@x.com stays blocked; e@x.com, the only unrestricted key, made room for f@x.com
+        assertThat(limiter.isBlocked("b@x.com", null)).isTrue();
+        assertThat(limiter.stats().evictions()).isEqualTo(1);
+        assertThat(limiter.stats().trackedKeys()).isEqualTo(2);
+    }
+
+    private static LoginRateLimiter limiter(int maxKeys) {
+        LoginRateLimiter limiter = new LoginRateLimiter();
+        ReflectionTestUtils.setField(limiter, "emailMaxFailures", 3);
+        ReflectionTestUtils.setField(limiter, "ipMaxFailures", 5);
+        ReflectionTestUtils.setField(limiter, "windowMinutes", 10L);
+        ReflectionTestUtils.setField(limiter, "blockMinutes", 10L);
+        ReflectionTestUtils.setField(limiter, "ipThrottleIntervalMs", 60_000L);
+        ReflectionTestUtils.setField(limiter, "maxKeys", maxKeys);
+        return limiter;
+    }
+}
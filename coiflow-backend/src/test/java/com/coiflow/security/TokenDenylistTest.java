@@ -0,0 +1,122 @@
+package com.coiflow.security;
+
+import com.coiflow.model.user.RevokedAccessToken;
+import com.coiflow.repository.user.RevokedAccessTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenDenylistTest {
+
+    private RevokedAccessTokenRepository repository;
+    private TokenDenylist denylist;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RevokedAccessTokenRepository.class);
+        denylist = new TokenDenylist(repository, mock(TransactionTemplate.class));
+        ReflectionTestUtils.setField(denylist, "expectedEntries", 1_000);
+        ReflectionTestUtils.setField(denylist, "falsePositiveRate", 0.001);
+        denylist.init();
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegatives() {
+        TokenDenylist.BloomFilter filter = new TokenDenylist.BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("jti-" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("jti-" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void bloomFilterFalsePositiveRateStaysNearItsTarget() {
+        TokenDenylist.BloomFilter filter = new TokenDenylist.BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("jti-" + i);
+        }
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("other-" + i)) falsePositives++;
+        }
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+
+    @Test
+    void revokedTokenIsDeniedUntilItExpires() {
+        denylist.revoke("a", Instant.now().plusSeconds(60));
+        denylist.revoke("b", Instant.now().minusSeconds(1));
+
+        assertThat(denylist.isRevoked("a")).isTrue();
+        // Already expired: never stored
+        assertThat(denylist.isRevoked("b")).isFalse();
+        assertThat(denylist.isRevoked("c")).isFalse();
+        assertThat(denylist.isRevoked(null)).isFalse();
+    }
+
+    @Test
+    void purgeForgetsExpiredTokensAndKeepsTheOthers() throws Exception {
+        denylist.revoke("short", Instant.now().plusMillis(50));
+        denylist.revoke("long", Instant.now().plusSeconds(60));
+        Thread.sleep(100);
+
+        denylist.purgeExpired();
+
+        assertThat(denylist.isRevoked("long")).isTrue();
+        assertThat(denylist.isRevoked("short")).isFalse();
+        assertThat(denylist.stats().revokedTokens()).isEqualTo(1);
+    }
+
+    @Test
+    void revocationIsStoredAndRevocationsOfOtherInstancesArePickedUp() {
+        denylist.revoke("local", Instant.now().plusSeconds(60));
+        verify(repository).save(any(RevokedAccessToken.class));
+
+        when(repository.findRevokedSince(any(), any())).thenReturn(List.of(
+                new RevokedAccessToken("remote", LocalDateTime.now().plusMinutes(1), LocalDateTime.now())));
+        denylist.sync();
+
+        assertThat(denylist.isRevoked("local")).isTrue();
+        assertThat(denylist.isRevoked("remote")).isTrue();
+    }
+
+    @Test
+    void revocationIsDeniedLocallyOnlyOnceItsTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            denylist.revoke("committed", Instant.now().plusSeconds(60));
+            assertThat(denylist.isRevoked("committed")).isFalse();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(denylist.isRevoked("committed")).isTrue();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            denylist.revoke("rolled-back", Instant.now().plusSeconds(60));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            assertThat(denylist.isRevoked("rolled-back")).isFalse();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
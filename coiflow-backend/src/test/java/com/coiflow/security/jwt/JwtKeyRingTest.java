@@ -0,0 +1,152 @@
+package com.coiflow.security.jwt;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.InvalidKeySpecException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyRingTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void newKeyVerifiesBeforeItSigns() throws Exception {
+        MutableClock clock = new MutableClock(1_000_000);
+        JwtKeyRing ring = new JwtKeyRing(JwtAlgorithm.EdDSA, 200, clock);
+        write("k1", generate("Ed25519"), 1_000);
+        ring.loadDirectory(directory);
+        assertThat(ring.activeKid()).isEqualTo("k1");
+
+        write("k2", generate("Ed25519"), 2_000);
+        ring.loadDirectory(directory);
+        assertThat(ring.verificationKey("k2")).isNotNull();
+        assertThat(ring.activeKid()).isEqualTo("k1");
+
+        clock.advance(199);
+        ring.loadDirectory(directory);
+        assertThat(ring.activeKid()).isEqualTo("k1");
+
+        clock.advance(1);
+        ring.loadDirectory(directory);
+        assertThat(ring.activeKid()).isEqualTo("k2");
+    }
+
+    @Test
+    void keyAddedJustBeforeAStartWaitsForThePublishDelay() throws Exception {
+        MutableClock clock = new MutableClock(1_000_000);
+        write("k1", generate("Ed25519"), 1_000);
+        write("k2", generate("Ed25519"), 999_900);
+
+        JwtKeyRing ring = new JwtKeyRing(JwtAlgorithm.EdDSA, 200, clock);
+        ring.loadDirectory(directory);
+        assertThat(ring.activeKid()).isEqualTo("k1");
+        assertThat(ring.verificationKey("k2")).isNotNull();
+
+        clock.advance(100);
+        ring.loadDirectory(directory);
+        assertThat(ring.activeKid()).isEqualTo("k2");
+    }
+
+    @Test
+    void firstDeploymentSignsWithAKeyNotPublishedYet() throws Exception {
+        MutableClock clock = new MutableClock(1_000_000);
+        write("k1", generate("Ed25519"), 999_950);
+
+        JwtKeyRing ring = new JwtKeyRing(JwtAlgorithm.EdDSA, 200, clock);
+        ring.loadDirectory(directory);
+
+        assertThat(ring.activeKid()).isEqualTo("k1");
+    }
+
+    @Test
+    void privateKeysOfAnotherAlgorithmAreSkipped() throws Exception {
+        write("ed", generate("Ed25519"), 1_000);
+        write("rsa", generate("RSA"), 2_000);
+
+        JwtKeyRing ring = new JwtKeyRing(JwtAlgorithm.EdDSA, 0);
+        ring.loadDirectory(directory);
+
+        assertThat(ring.activeKid()).isEqualTo("ed");
+        // Public keys of another algorithm still verify older tokens
+        assertThat(ring.verificationKey("rsa")).isNotNull();
+    }
+
+    @Test
+    void nonPkcs8PrivateKeyIsRejected() throws Exception {
+        KeyPair pair = generate("RSA");
+        Files.writeString(directory.resolve("k1.private.pem"),
+                pem("RSA PRIVATE KEY", pair.getPrivate().getEncoded()));
+        Files.writeString(directory.resolve("k1.public.pem"), pem("PUBLIC KEY", pair.getPublic().getEncoded()));
+
+        JwtKeyRing ring = new JwtKeyRing(JwtAlgorithm.RS256, 0);
+        assertThatThrownBy(() -> ring.loadDirectory(directory))
+                .isInstanceOf(InvalidKeySpecException.class)
+                .hasMessageContaining("PKCS#8");
+    }
+
+    private void write(String kid, KeyPair pair, long modified) throws Exception {
+        Path privateFile = directory.resolve(kid + ".private.pem");
+        Files.writeString(privateFile, pem("PRIVATE KEY", pair.getPrivate().getEncoded()));
+        Files.setLastModifiedTime(privateFile, FileTime.fromMillis(modified));
+        Path publicFile = directory.resolve(kid + ".public.pem");
+        Files.writeString(publicFile, pem("PUBLIC KEY", pair.getPublic().getEncoded()));
+        Files.setLastModifiedTime(publicFile, FileTime.fromMillis(modified));
+    }
+
+    private static KeyPair generate(String algorithm) throws Exception {
+        return KeyPairGenerator.getInstance(algorithm).generateKeyPair();
+    }
+
+    private static String pem(String label, byte[] der) {
+        return "-----BEGIN " + label + "-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(der)
+                + "\n-----END " + label + "-----\n";
+    }
+
+    /** Clock the test moves by hand, so the publish delay elapses without sleeping. */
+    private static final class MutableClock extends Clock {
+        private long millis;
+
+        MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.coiflow.security.jwt;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.KeyPair;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JMH sign and verify throughput of each {@link JwtAlgorithm}, on tokens shaped like our access
+ * tokens. Informational, so it only runs on demand:
+ * {@code mvn test -Dtest=JwtSigningBenchmarkTest -Dbenchmark=true}.
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtSigningBenchmarkTest {
+
+    private static final Map<String, Object> CLAIMS = Map.of(
+            "email", "marie.dupont@example.com",
+            "role", "BARBER",
+            "salonId", UUID.randomUUID().toString(),
+            "firstName", "Marie",
+            "lastName", "Dupont",
+            "active", true,
+            "userEpoch", 0L,
+            "salonEpoch", 0L);
+
+    @Param
+    public JwtAlgorithm algorithm;
+
+    private KeyPair keys;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        keys = algorithm.signatureAlgorithm().keyPair().build();
+        parser = Jwts.parser().verifyWith(keys.getPublic()).build();
+        token = sign();
+    }
+
+    @Benchmark
+    public String sign() {
+        return Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(UUID.randomUUID().toString())
+                .claims(CLAIMS)
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 900_000))
+                .signWith(keys.getPrivate(), algorithm.signatureAlgorithm())
+                .compact();
+    }
+
+    @Benchmark
+    public void verify(Blackhole blackhole) {
+        blackhole.consume(parser.parseSignedClaims(token));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void compareSignAndVerifyThroughput() throws Exception {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(JwtSigningBenchmarkTest.class.getName() + "\\.")
+                .shouldFailOnError(true)
+                .build()).run();
+
+        for (RunResult result : results) {
+            log.info("{} {}: {} ops/s",
+                    result.getParams().getParam("algorithm"),
+                    result.getParams().getBenchmark().substring(result.getParams().getBenchmark().lastIndexOf('.') + 1),
+                    Math.round(result.getPrimaryResult().getScore()));
+        }
+        assertThat(results).hasSize(2 * JwtAlgorithm.values().length);
+    }
+}
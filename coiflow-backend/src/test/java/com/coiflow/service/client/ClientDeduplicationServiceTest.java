@@ -0,0 +1,62 @@
+package com.coiflow.service.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientDeduplicationServiceTest {
+
+    @Test
+    void soundexFollowsTheAmericanRules() {
+        assertThat(ClientDeduplicationService.soundex("Robert")).isEqualTo("R163");
+        assertThat(ClientDeduplicationService.soundex("Rupert")).isEqualTo("R163");
+        assertThat(ClientDeduplicationService.soundex("Tymczak")).isEqualTo("T522");
+        // Same code as the first letter: skipped
+        assertThat(ClientDeduplicationService.soundex("Pfister")).isEqualTo("P236");
+        // H and W do not separate letters with the same code
+        assertThat(ClientDeduplicationService.soundex("Ashcraft")).isEqualTo("A261");
+        assertThat(ClientDeduplicationService.soundex("Lee")).isEqualTo("L000");
+    }
+
+    @Test
+    void soundexIgnoresAccentsCaseAndPunctuation() {
+        assertThat(ClientDeduplicationService.soundex("Hélène")).isEqualTo(ClientDeduplicationService.soundex("HELENE"));
+        assertThat(ClientDeduplicationService.soundex("Ben-Ali")).isEqualTo(ClientDeduplicationService.soundex("Benali"));
+        assertThat(ClientDeduplicationService.soundex(null)).isEmpty();
+        assertThat(ClientDeduplicationService.soundex("123")).isEmpty();
+    }
+
+    @Test
+    void phonesKeepTheirLastNineDigits() {
+        assertThat(ClientDeduplicationService.normalizePhone("+213 555 12 34 56"))
+                .isEqualTo(ClientDeduplicationService.normalizePhone("0555 12 34 56"))
+                .isEqualTo("555123456");
+        assertThat(ClientDeduplicationService.normalizePhone("12 34")).isNull();
+        assertThat(ClientDeduplicationService.normalizePhone(null)).isNull();
+    }
+
+    @Test
+    void blockingKeysPutLikelyDuplicatesInTheSameBlock() {
+        ClientDeduplicationService.Candidate a = candidate("1", "Marie", "Dupont", "0612345678", "Marie@Mail.com");
+        ClientDeduplicationService.Candidate swapped = candidate("2", "Dupond", "Mari", null, null);
+        ClientDeduplicationService.Candidate samePhone = candidate("3", "X", "Y", "+33 6 12 34 56 78", null);
+        ClientDeduplicationService.Candidate sameEmail = candidate("4", "Z", "W", null, " marie@mail.com ");
+
+        assertThat(a.blockingKeys()).containsExactly("p:612345678", "e:marie@mail.com", "n:D153M600");
+        assertThat(swapped.blockingKeys()).containsExactly("n:D153M600");
+        assertThat(samePhone.blockingKeys()).contains("p:612345678");
+        assertThat(sameEmail.blockingKeys()).contains("e:marie@mail.com");
+    }
+
+    @Test
+    void clientWithoutUsableNameOrContactHasNoBlock() {
+        assertThat(candidate("1", "", "Dupont", null, "  ").blockingKeys()).isEmpty();
+    }
+
+    private static ClientDeduplicationService.Candidate candidate(String id, String firstName, String lastName,
+                                                                  String phone, String email) {
+        return ClientDeduplicationService.Candidate.of(id, firstName, lastName, phone, email, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,95 @@
+package com.coiflow.service.client;
+
+import com.coiflow.dto.client.ClientPageResponse;
+import com.coiflow.model.enums.ClientSort;
+import com.coiflow.repository.client.ClientRepository;
+import com.coiflow.repository.client.ClientRow;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ClientDirectoryTest {
+
+    private static final ClientRow DUPONT = row("c1", "Marie", "Dupont", LocalDateTime.of(2026, 3, 1, 10, 30, 15, 123_456_000),
+            4, new BigDecimal("12500.50"));
+    private static final ClientRow MARTIN = row("c2", "Jean", "Martin", null, 0, BigDecimal.ZERO);
+
+    @Test
+    void cursorRoundTripsTheKeyOfEachSort() {
+        assertThat(ClientDirectory.decodeCursor(ClientDirectory.encodeCursor(ClientSort.NAME, DUPONT), ClientSort.NAME))
+                .containsExactly("Dupont", "Marie", "c1");
+        assertThat(ClientDirectory.decodeCursor(ClientDirectory.encodeCursor(ClientSort.LAST_VISIT, DUPONT), ClientSort.LAST_VISIT))
+                .containsExactly("2026-03-01T10:30:15.123456", "c1");
+        assertThat(ClientDirectory.decodeCursor(ClientDirectory.encodeCursor(ClientSort.VISIT_COUNT, DUPONT), ClientSort.VISIT_COUNT))
+                .containsExactly("4", "c1");
+        assertThat(ClientDirectory.decodeCursor(ClientDirectory.encodeCursor(ClientSort.LIFETIME_SPEND, DUPONT), ClientSort.LIFETIME_SPEND))
+                .containsExactly("12500.50", "c1");
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        ClientRow accented = row("c3", "Hélène/+", "D'Aubigné?", null, 0, BigDecimal.ZERO);
+        assertThat(ClientDirectory.encodeCursor(ClientSort.NAME, accented)).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void cursorOfAnotherSortOrMalformedIsRejected() {
+        String byName = ClientDirectory.encodeCursor(ClientSort.NAME, DUPONT);
+
+        assertThatThrownBy(() -> ClientDirectory.decodeCursor(byName, ClientSort.VISIT_COUNT))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ClientDirectory.decodeCursor("not base64!", ClientSort.NAME))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ClientDirectory.decodeCursor("YWJj", ClientSort.NAME))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void extraRowGivesANextCursorThatResumesAfterTheLastItem() {
+        ClientRepository repository = mock(ClientRepository.class);
+        ClientDirectory directory = new ClientDirectory(repository);
+        when(repository.findDirectoryFirstPageByName(eq("s1"), isNull(), isNull(), isNull(), isNull(), any()))
+                .thenReturn(List.of(DUPONT, MARTIN));
+
+        ClientPageResponse first = directory.page("s1", ClientSort.NAME, ClientDirectory.Filter.NONE, null, 1);
+
+        assertThat(first.getItems()).extracting("id").containsExactly("c1");
+        verify(repository).findDirectoryFirstPageByName("s1", null, null, null, null, PageRequest.of(0, 2));
+
+        when(repository.findDirectoryPageByNameAfter(eq("s1"), isNull(), isNull(), isNull(), isNull(),
+                eq("Dupont"), eq("Marie"), eq("c1"), any()))
+                .thenReturn(List.of(MARTIN));
+        ClientPageResponse second = directory.page("s1", ClientSort.NAME, ClientDirectory.Filter.NONE, first.getNextCursor(), 1);
+
+        assertThat(second.getItems()).extracting("id").containsExactly("c2");
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    private static ClientRow row(String id, String firstName, String lastName, LocalDateTime lastVisitAt,
+                                 int visitCount, BigDecimal lifetimeSpend) {
+        return new ClientRow() {
+            public String getId() { return id; }
+            public String getFirstName() { return firstName; }
+            public String getLastName() { return lastName; }
+            public String getPhone() { return null; }
+            public String getEmail() { return null; }
+            public String getNotes() { return null; }
+            public LocalDateTime getCreatedAt() { return null; }
+            public LocalDateTime getLastVisitAt() { return lastVisitAt; }
+            public int getVisitCount() { return visitCount; }
+            public BigDecimal getLifetimeSpend() { return lifetimeSpend; }
+        };
+    }
+}
@@ -0,0 +1,195 @@
+package com.coiflow.service.client;
+
+import com.coiflow.dto.client.ClientImportResponse;
+import com.coiflow.repository.salon.SalonRepository;
+import com.coiflow.security.TenantContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ClientImportServiceTest {
+
+    private static final String SALON_ID = "s1";
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ClientSearchIndex searchIndex = mock(ClientSearchIndex.class);
+    /** Size of each batch at the time it was sent (the service reuses the list). */
+    private final List<Integer> batches = new ArrayList<>();
+
+    @AfterEach
+    void clearTenant() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    void readsCommaSeparatedRecords() throws Exception {
+        ClientImportService.CsvReader csv = reader("prenom,nom,telephone\nMarie,Dupont,0612345678\n");
+
+        assertThat(csv.next()).containsExactly("prenom", "nom", "telephone");
+        assertThat(csv.next()).containsExactly("Marie", "Dupont", "0612345678");
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void takesTheSeparatorFromTheHeader() throws Exception {
+        ClientImportService.CsvReader csv = reader("prenom;nom;notes\nMarie;Dupont;cheveux, courts\n");
+
+        csv.next();
+        assertThat(csv.next()).containsExactly("Marie", "Dupont", "cheveux, courts");
+    }
+
+    @Test
+    void unquotesFieldsAndEscapedQuotes() throws Exception {
+        ClientImportService.CsvReader csv = reader("a,b,c\n\"Dupont, Marie\",\"dit \"\"Mimi\"\"\",\n");
+
+        csv.next();
+        assertThat(csv.next()).containsExactly("Dupont, Marie", "dit \"Mimi\"", "");
+    }
+
+    @Test
+    void keepsLineBreaksInsideQuotesAndReportsTheFirstLine() throws Exception {
+        ClientImportService.CsvReader csv = reader("nom,notes\nDupont,\"ligne 1\nligne 2\"\nMartin,ok\n");
+
+        csv.next();
+        assertThat(csv.next()).containsExactly("Dupont", "ligne 1\nligne 2");
+        assertThat(csv.recordLine()).isEqualTo(2);
+        assertThat(csv.next()).containsExactly("Martin", "ok");
+        assertThat(csv.recordLine()).isEqualTo(4);
+    }
+
+    @Test
+    void rejectsAQuoteOpenAtEndOfFileAndRereadsTheLinesItSwallowed() throws Exception {
+        ClientImportService.CsvReader csv = reader("nom,notes\nDupont,\"jamais ferme\nMartin,ok\n");
+
+        csv.next();
+        assertThat(csv.next()).isEmpty();
+        assertThat(csv.recordError()).isEqualTo("Guillemet non ferme");
+        assertThat(csv.recordLine()).isEqualTo(2);
+
+        assertThat(csv.next()).containsExactly("Martin", "ok");
+        assertThat(csv.recordError()).isNull();
+        assertThat(csv.recordLine()).isEqualTo(3);
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void rejectsARunawayFieldAndResumesAfterItsFirstLine() throws Exception {
+        StringBuilder text = new StringBuilder("nom,notes\nDupont,\"oubli du guillemet\n");
+        for (int i = 0; i < 100; i++) {
+            text.append("Client").append(i).append(",une note assez longue pour depasser la limite\n");
+        }
+        ClientImportService.CsvReader csv = reader(text.toString());
+
+        csv.next();
+        assertThat(csv.next()).isEmpty();
+        assertThat(csv.recordError()).contains("Champ trop long");
+        assertThat(csv.recordLine()).isEqualTo(2);
+
+        assertThat(csv.next()).containsExactly("Client0", "une note assez longue pour depasser la limite");
+        assertThat(csv.recordError()).isNull();
+        assertThat(csv.recordLine()).isEqualTo(3);
+    }
+
+    @Test
+    void insertsFullBatchesThenTheRemainder() {
+        ClientImportResponse report = importCsv(2, """
+                prenom,nom,telephone
+                Marie,Dupont,0611111111
+                Jean,Martin,0622222222
+                Paul,Durand,0633333333
+                Lea,Petit,0644444444
+                Hugo,Moreau,0655555555
+                """);
+
+        assertThat(batches).containsExactly(2, 2, 1);
+        assertThat(report.getImportedCount()).isEqualTo(5);
+        assertThat(report.getProcessedRows()).isEqualTo(5);
+        verify(searchIndex).invalidate(SALON_ID);
+    }
+
+    @Test
+    void skipsContactsAlreadyKnownOrSeenEarlierInTheFile() throws Exception {
+        ResultSet existing = mock(ResultSet.class);
+        when(existing.getString(1)).thenReturn("06 11 11 11 11");
+        when(existing.getString(2)).thenReturn("ancien@test.local");
+        doAnswer(inv -> {
+            inv.<RowCallbackHandler>getArgument(1).processRow(existing);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(SALON_ID));
+
+        ClientImportResponse report = importCsv(10, """
+                prenom,nom,telephone,email
+                Marie,Dupont,+0611111111,
+                Jean,Martin,,ANCIEN@test.local
+                Paul,Durand,0633333333,paul@test.local
+                Paul,Durant,06-33-33-33-33,
+                """);
+
+        assertThat(report.getImportedCount()).isEqualTo(1);
+        assertThat(report.getDuplicateCount()).isEqualTo(3);
+        assertThat(report.getErrors()).extracting("line").containsExactly(2L, 3L, 5L);
+        assertThat(batches).containsExactly(1);
+    }
+
+    @Test
+    void quoteOpenAtEndOfFileIsARowErrorAndThePendingBatchIsKept() {
+        ClientImportResponse report = importCsv(10, """
+                prenom,nom,notes
+                Marie,Dupont,ok
+                Jean,Martin,ok
+                Paul,Durand,"jamais ferme
+                """);
+
+        assertThat(batches).containsExactly(2);
+        assertThat(report.getImportedCount()).isEqualTo(2);
+        assertThat(report.getRejectedCount()).isEqualTo(1);
+        assertThat(report.getErrors()).singleElement()
+                .satisfies(e -> {
+                    assertThat(e.getLine()).isEqualTo(4);
+                    assertThat(e.getMessage()).isEqualTo("Guillemet non ferme");
+                });
+    }
+
+    private ClientImportResponse importCsv(int batchSize, String csv) {
+        SalonRepository salonRepository = mock(SalonRepository.class);
+        when(salonRepository.existsById(SALON_ID)).thenReturn(true);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(inv -> {
+            batches.add(inv.<List<?>>getArgument(1).size());
+            return new int[0];
+        });
+
+        ClientImportService service = new ClientImportService(
+                salonRepository, searchIndex, mock(PlatformTransactionManager.class), jdbcTemplate);
+        ReflectionTestUtils.setField(service, "batchSize", batchSize);
+        ReflectionTestUtils.setField(service, "maxErrors", 200);
+        service.init();
+
+        TenantContextHolder.setSalonId(SALON_ID);
+        return service.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static ClientImportService.CsvReader reader(String text) {
+        return new ClientImportService.CsvReader(new BufferedReader(new StringReader(text)));
+    }
+}
@@ -0,0 +1,138 @@
+package com.coiflow.service.client;
+
+import com.coiflow.repository.client.ClientRepository;
+import com.coiflow.repository.client.ClientSearchRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ClientSearchIndexTest {
+
+    private ClientSearchIndex.SalonIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ClientSearchIndex.SalonIndex();
+        index.put("dupont", ClientSearchIndex.document("Marie-Christine", "Dupont", "06 12 34 56 78"));
+        index.put("durand", ClientSearchIndex.document("Marc", "Durand", "0555 00 11 22"));
+        index.put("bernard", ClientSearchIndex.document("Lea", "Bernard", null));
+    }
+
+    @Test
+    void trigramsArePaddedPerWordAndIgnoreAccentsAndCase() {
+        assertThat(ClientSearchIndex.trigrams("Lé"))
+                .containsExactlyInAnyOrder("  l", " le", "le ");
+        assertThat(ClientSearchIndex.trigrams("Jean-Luc"))
+                .contains(" je", "an ", " lu", "uc ");
+        assertThat(ClientSearchIndex.trigrams(null)).isEmpty();
+        assertThat(ClientSearchIndex.trigrams(" -- ")).isEmpty();
+    }
+
+    @Test
+    void queryWordsAreAnchoredAndUnanchoredAndTheLastOneStaysOpen() {
+        List<ClientSearchIndex.QueryWord> words = ClientSearchIndex.parseQuery("lea pont");
+        assertThat(words).hasSize(2);
+        assertThat(words.get(0).anchored()).containsExactlyInAnyOrder("  l", " le", "lea", "ea ");
+        assertThat(words.get(0).unanchored()).containsExactlyInAnyOrder("lea", "ea ");
+        assertThat(words.get(1).anchored()).containsExactlyInAnyOrder("  p", " po", "pon", "ont");
+        assertThat(words.get(1).unanchored()).containsExactlyInAnyOrder("pon", "ont");
+
+        ClientSearchIndex.QueryWord shortWord = ClientSearchIndex.parseQuery("du").get(0);
+        assertThat(shortWord.anchored()).containsExactlyInAnyOrder("  d", " du");
+        assertThat(shortWord.unanchored()).isEqualTo(shortWord.anchored());
+    }
+
+    @Test
+    void phoneQueriesAreSearchedAsDigits() {
+        assertThat(ClientSearchIndex.parseQuery("06 12 34"))
+                .isEqualTo(ClientSearchIndex.parseQuery("061234"));
+        assertThat(ClientSearchIndex.parseQuery("+213 (0)5-55"))
+                .isEqualTo(ClientSearchIndex.parseQuery("2130555"));
+    }
+
+    @Test
+    void shortPrefixesFindTheClient() {
+        assertThat(search("D")).contains("dupont", "durand").doesNotContain("bernard");
+        assertThat(search("Du")).contains("dupont", "durand");
+        assertThat(search("dup")).first().isEqualTo("dupont");
+        assertThat(search("pont")).contains("dupont");
+    }
+
+    @Test
+    void fullPhoneNumberFindsItsClient() {
+        assertThat(search("06 12 34 56 78")).first().isEqualTo("dupont");
+        assertThat(search("0612345678")).first().isEqualTo("dupont");
+    }
+
+    @Test
+    void typosAndFieldOrderStillMatch() {
+        assertThat(search("dupomt")).first().isEqualTo("dupont");
+        assertThat(search("dupont marie")).first().isEqualTo("dupont");
+    }
+
+    @Test
+    void unrelatedQueriesDoNotMatch() {
+        assertThat(search("zzz")).isEmpty();
+        assertThat(search("xavier")).isEmpty();
+        assertThat(search("martin")).isEmpty();
+    }
+
+    @Test
+    void resultsAreRankedByScoreAndLimited() {
+        assertThat(search("durand")).first().isEqualTo("durand");
+        assertThat(index.search(ClientSearchIndex.parseQuery("d"), 1)).hasSize(1);
+    }
+
+    @Test
+    void updatedClientIsReindexed() {
+        index.put("bernard", ClientSearchIndex.document("Lea", "Martin", null));
+        assertThat(search("bernard")).isEmpty();
+        assertThat(search("martin")).containsExactly("bernard");
+    }
+
+    @Test
+    void clientUpsertedDuringABuildIsNotLost() {
+        ClientRepository repository = mock(ClientRepository.class);
+        ClientSearchIndex searchIndex = new ClientSearchIndex(repository);
+        ReflectionTestUtils.setField(searchIndex, "maxSalons", 10);
+        ReflectionTestUtils.setField(searchIndex, "indexTtlMinutes", 60L);
+        searchIndex.init();
+
+        ClientSearchRow dupont = row("c1", "Marie", "Dupont");
+        ClientSearchRow durand = row("c2", "Marc", "Durand");
+        when(repository.findSearchRowsBySalonId(anyString()))
+                .thenAnswer(invocation -> {
+                    // Committed while the first build is reading
+                    searchIndex.upsert("s1", "c2", "Marc", "Durand", null);
+                    return List.of(dupont);
+                })
+                .thenReturn(List.of(dupont, durand));
+
+        searchIndex.search("s1", "dupont", 10);
+
+        assertThat(searchIndex.search("s1", "durand", 10)).containsExactly("c2");
+        verify(repository, times(2)).findSearchRowsBySalonId("s1");
+    }
+
+    private List<String> search(String query) {
+        return index.search(ClientSearchIndex.parseQuery(query), 20);
+    }
+
+    private static ClientSearchRow row(String id, String firstName, String lastName) {
+        return new ClientSearchRow() {
+            public String getId() { return id; }
+            public String getFirstName() { return firstName; }
+            public String getLastName() { return lastName; }
+            public String getPhone() { return null; }
+        };
+    }
+}
@@ -0,0 +1,75 @@
+package com.coiflow.service.dashboard;
+
+import com.coiflow.dto.dashboard.LeaderboardEntryResponse;
+import com.coiflow.model.enums.LeaderboardMetric;
+import com.coiflow.repository.dashboard.RankingRow;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaderboardServiceTest {
+
+    @Test
+    void keepsTheBestRowsInRankOrder() {
+        List<RankingRow> rows = List.of(
+                row("a", "100", 5), row("b", "300", 1), row("c", "200", 9), row("d", "50", 2));
+
+        List<LeaderboardEntryResponse> top = LeaderboardService.topK(rows, LeaderboardMetric.REVENUE, 2);
+
+        assertThat(top).extracting(LeaderboardEntryResponse::getId).containsExactly("b", "c");
+        assertThat(top).extracting(LeaderboardEntryResponse::getRank).containsExactly(1, 2);
+    }
+
+    @Test
+    void volumeRanksOnVolumeThenRevenue() {
+        List<RankingRow> rows = List.of(row("a", "100", 5), row("b", "300", 5), row("c", "900", 1));
+
+        assertThat(LeaderboardService.topK(rows, LeaderboardMetric.VOLUME, 3))
+                .extracting(LeaderboardEntryResponse::getId).containsExactly("b", "a", "c");
+    }
+
+    @Test
+    void tiesAreBrokenOnIdAndNullRevenueCountsAsZero() {
+        List<RankingRow> rows = List.of(row("b", "10", 1), row("a", "10", 1), row("z", null, 3));
+
+        List<LeaderboardEntryResponse> top = LeaderboardService.topK(rows, LeaderboardMetric.REVENUE, 10);
+
+        assertThat(top).extracting(LeaderboardEntryResponse::getId).containsExactly("a", "b", "z");
+        assertThat(top.get(2).getRevenue()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    void matchesAFullSortOnRandomRows() {
+        Random random = new Random(42);
+        List<RankingRow> rows = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            rows.add(row("id" + i, String.valueOf(random.nextInt(500)), random.nextInt(20)));
+        }
+
+        List<RankingRow> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparing(RankingRow::getRevenue)
+                .thenComparingLong(RankingRow::getVolume)
+                .thenComparing(RankingRow::getId, Comparator.reverseOrder()));
+        Collections.reverse(sorted);
+
+        assertThat(LeaderboardService.topK(rows, LeaderboardMetric.REVENUE, 10))
+                .extracting(LeaderboardEntryResponse::getId)
+                .containsExactlyElementsOf(sorted.subList(0, 10).stream().map(RankingRow::getId).toList());
+    }
+
+    private static RankingRow row(String id, String revenue, long volume) {
+        return new RankingRow() {
+            public String getId() { return id; }
+            public String getName() { return id; }
+            public BigDecimal getRevenue() { return revenue != null ? new BigDecimal(revenue) : null; }
+            public long getVolume() { return volume; }
+        };
+    }
+}
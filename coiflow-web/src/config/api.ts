@@ -16,6 +16,7 @@ export const API_ENDPOINTS = {
   COMMISSIONS: '/api/commissions',
   DASHBOARD: {
     STATS: '/api/dashboard/stats',
+    OVERVIEW: '/api/dashboard/overview',
     REVENUE: '/api/dashboard/revenue',
   },
 } as const;
@@ -1,15 +1,16 @@
-import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
+import { useQuery, useMutation, useQueryClient, keepPreviousData } from '@tanstack/react-query';
 import { toast } from 'react-toastify';
 import { SalonService } from '@/shared/services/SalonService';
 import { extractErrorMessage } from '@/shared/utils/errorMessage';
-import type { CreateSalonPayload, UpdateSalonPayload } from '@/shared/types/salon';
+import type { SalonQuery, CreateSalonPayload, UpdateSalonPayload } from '@/shared/types/salon';
 
 const SALONS_KEY = ['salons'];
 
-export function useSalons() {
+export function useSalons(query: SalonQuery) {
   return useQuery({
-    queryKey: SALONS_KEY,
-    queryFn: SalonService.getAll,
+    queryKey: [...SALONS_KEY, query],
+    queryFn: () => SalonService.getAll(query),
+    placeholderData: keepPreviousData,
   });
 }
 
@@ -2,6 +2,7 @@ import { useState, type FormEvent } from 'react';
 import { useSalons, useCreateSalon, useUpdateSalon, useToggleSalon } from '@/features/admin/hooks/useSalons';
 import { DataTable } from '@/shared/components/DataTable';
 import { Modal } from '@/shared/components/Modal';
+import { useDebounce } from '@/shared/utils/useDebounce';
 import type { Column } from '@/shared/components/DataTable';
 import type { Salon, CreateSalonPayload, UpdateSalonPayload } from '@/shared/types/salon';
 
@@ -17,7 +18,17 @@ const columns: Column<Salon>[] = [
 ];
 
 export default function SalonsPage() {
-  const { data: salons = [], isLoading } = useSalons();
+  const [search, setSearch] = useState('');
+  const [status, setStatus] = useState<'all' | 'active' | 'inactive'>('all');
+  const [page, setPage] = useState(0);
+  const debouncedSearch = useDebounce(search, 300);
+  const { data, isLoading } = useSalons({
+    search: debouncedSearch.trim(),
+    active: status === 'all' ? undefined : status === 'active',
+    page,
+  });
+  const salons = data?.items ?? [];
+  const totalPages = data?.totalPages ?? 0;
   const createMutation = useCreateSalon();
   const updateMutation = useUpdateSalon();
   const toggleMutation = useToggleSalon();
@@ -71,6 +82,25 @@ export default function SalonsPage() {
         </button>
       </div>
 
+      <div className="flex flex-wrap gap-3">
+        <input
+          type="text"
+          value={search}
+          onChange={(e) => { setSearch(e.target.value); setPage(0); }}
+          placeholder="Rechercher par nom..."
+          className="w-full max-w-sm rounded-md border border-gray-300 px-3 py-2 text-sm shadow-sm focus:border-blue-500 focus:outline-none focus:ring-1 focus:ring-blue-500"
+        />
+        <select
+          value={status}
+          onChange={(e) => { setStatus(e.target.value as 'all' | 'active' | 'inactive'); setPage(0); }}
+          className="rounded-md border border-gray-300 px-3 py-2 text-sm shadow-sm focus:border-blue-500 focus:outline-none focus:ring-1 focus:ring-blue-500"
+        >
+          <option value="all">Tous les statuts</option>
+          <option value="active">Actifs</option>
+          <option value="inactive">Inactifs</option>
+        </select>
+      </div>
+
       <DataTable<Salon>
         columns={columns}
         data={salons}
@@ -97,6 +127,30 @@ export default function SalonsPage() {
         )}
       />
 
+      {totalPages > 1 && (
+        <div className="flex items-center justify-between text-sm text-gray-700">
+          <span>
+            Page {page + 1} / {totalPages} ({data?.totalElements} salons)
+          </span>
+          <div className="flex gap-2">
+            <button
+              onClick={() => setPage((p) => Math.max(0, p - 1))}
+              disabled={page === 0}
+              className="rounded-md border border-gray-300 px-3 py-1 hover:bg-gray-50 disabled:opacity-50"
+            >
+              Precedent
+            </button>
+            <button
+              onClick={() => setPage((p) => p + 1)}
+              disabled={page + 1 >= totalPages}
+              className="rounded-md border border-gray-300 px-3 py-1 hover:bg-gray-50 disabled:opacity-50"
+            >
+              Suivant
+            </button>
+          </div>
+        </div>
+      )}
+
       {/* Create Modal */}
       <Modal isOpen={isCreateOpen} onClose={() => setIsCreateOpen(false)} title="Nouveau salon">
         <form onSubmit={handleCreate} className="space-y-4">
@@ -1,15 +1,26 @@
-import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
+import { useQuery, useInfiniteQuery, useMutation, useQueryClient } from '@tanstack/react-query';
 import { toast } from 'react-toastify';
 import { ClientService } from '@/shared/services/ClientService';
 import { extractErrorMessage } from '@/shared/utils/errorMessage';
-import type { CreateClientPayload, UpdateClientPayload } from '@/shared/types/client';
+import type { ClientSort, CreateClientPayload, UpdateClientPayload } from '@/shared/types/client';
 
 const CLIENTS_KEY = ['clients'];
 
-export function useClients(search: string) {
+export function useClients(search: string, enabled = true) {
   return useQuery({
     queryKey: [...CLIENTS_KEY, search],
     queryFn: () => ClientService.getAll(search || undefined),
+    enabled,
+  });
+}
+
+export function useClientDirectory(sort: ClientSort, enabled: boolean) {
+  return useInfiniteQuery({
+    queryKey: [...CLIENTS_KEY, 'directory', sort],
+    queryFn: ({ pageParam }) => ClientService.getDirectory(sort, pageParam),
+    initialPageParam: undefined as string | undefined,
+    getNextPageParam: (last) => last.nextCursor ?? undefined,
+    enabled,
   });
 }
 
@@ -41,3 +52,19 @@ export function useUpdateClient() {
     },
   });
 }
+
+export function useImportClients() {
+  const queryClient = useQueryClient();
+  return useMutation({
+    mutationFn: (file: File) => ClientService.importCsv(file),
+    onSuccess: (result) => {
+      void queryClient.invalidateQueries({ queryKey: CLIENTS_KEY });
+      toast.success(
+        `${result.importedCount} clients importes, ${result.duplicateCount} doublons, ${result.rejectedCount} rejetes`,
+      );
+    },
+    onError: (err: unknown) => {
+      toast.error(extractErrorMessage(err));
+    },
+  });
+}
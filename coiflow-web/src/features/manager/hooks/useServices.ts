@@ -2,7 +2,7 @@ import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
 import { toast } from 'react-toastify';
 import { ServiceCatalogService } from '@/shared/services/ServiceCatalogService';
 import { extractErrorMessage } from '@/shared/utils/errorMessage';
-import type { CreateServicePayload, UpdateServicePayload } from '@/shared/types/service';
+import type { BulkUpdateServicesPayload, CreateServicePayload, UpdateServicePayload } from '@/shared/types/service';
 
 const SERVICES_KEY = ['services'];
 
@@ -42,6 +42,20 @@ export function useUpdateService() {
   });
 }
 
+export function useBulkUpdateServices() {
+  const queryClient = useQueryClient();
+  return useMutation({
+    mutationFn: (payload: BulkUpdateServicesPayload) => ServiceCatalogService.bulkUpdate(payload),
+    onSuccess: (services) => {
+      queryClient.setQueryData(SERVICES_KEY, services);
+      toast.success('Prestations mises a jour');
+    },
+    onError: (err: unknown) => {
+      toast.error(extractErrorMessage(err));
+    },
+  });
+}
+
 export function useDeleteService() {
   const queryClient = useQueryClient();
   return useMutation({
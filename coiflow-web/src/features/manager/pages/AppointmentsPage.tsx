@@ -2,7 +2,8 @@ import { useState, useMemo, type FormEvent } from 'react';
 import { useAppointments, useCreateAppointment, useUpdateStatus } from '@/features/manager/hooks/useAppointments';
 import { useStaff } from '@/features/manager/hooks/useStaff';
 import { useServices } from '@/features/manager/hooks/useServices';
-import { useClients } from '@/features/manager/hooks/useClients';
+import { useClientDirectory, useClients } from '@/features/manager/hooks/useClients';
+import { useDebounce } from '@/shared/utils/useDebounce';
 import { WeekCalendar } from '@/shared/components/WeekCalendar';
 import { Modal } from '@/shared/components/Modal';
 import { getWeekRange, addDays, formatDateISO, formatTime } from '@/shared/utils/dateHelpers';
@@ -48,9 +49,15 @@ export default function AppointmentsPage() {
   const { data: staff = [] } = useStaff();
   const { data: services = [] } = useServices();
 
-  // Client search for create modal
+  // Client picker for create modal: prefix search, or the directory page by page
   const [clientSearch, setClientSearch] = useState('');
-  const { data: clients = [] } = useClients(clientSearch);
+  const debouncedClientSearch = useDebounce(clientSearch, 300);
+  const isSearchingClients = debouncedClientSearch.trim() !== '';
+  const clientSearchQuery = useClients(debouncedClientSearch, isCreateOpen && isSearchingClients);
+  const clientDirectory = useClientDirectory('name', isCreateOpen && !isSearchingClients);
+  const clients = isSearchingClients
+    ? clientSearchQuery.data ?? []
+    : clientDirectory.data?.pages.flatMap((p) => p.items) ?? [];
 
   // Service selection for create modal
   const [selectedServiceIds, setSelectedServiceIds] = useState<string[]>([]);
@@ -226,6 +233,16 @@ export default function AppointmentsPage() {
                 </option>
               ))}
             </select>
+            {!isSearchingClients && clientDirectory.hasNextPage && (
+              <button
+                type="button"
+                onClick={() => void clientDirectory.fetchNextPage()}
+                disabled={clientDirectory.isFetchingNextPage}
+                className="mt-1 text-sm text-blue-600 hover:text-blue-800 disabled:opacity-50"
+              >
+                {clientDirectory.isFetchingNextPage ? 'Chargement...' : 'Charger plus de clients'}
+              </button>
+            )}
           </div>
 
           {/* Date + Time */}
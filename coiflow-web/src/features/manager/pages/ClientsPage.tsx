@@ -1,15 +1,20 @@
-import { useState, type FormEvent } from 'react';
-import { useClients, useCreateClient, useUpdateClient } from '@/features/manager/hooks/useClients';
+import { useRef, useState, type ChangeEvent, type FormEvent } from 'react';
+import { useClientDirectory, useClients, useCreateClient, useImportClients, useUpdateClient } from '@/features/manager/hooks/useClients';
 import { useDebounce } from '@/shared/utils/useDebounce';
 import { DataTable } from '@/shared/components/DataTable';
 import { Modal } from '@/shared/components/Modal';
 import type { Column } from '@/shared/components/DataTable';
-import type { Client, CreateClientPayload, UpdateClientPayload } from '@/shared/types/client';
+import { formatDate } from '@/shared/utils/dateHelpers';
+import { formatPrice } from '@/shared/utils/formatters';
+import type { Client, ClientSort, CreateClientPayload, UpdateClientPayload } from '@/shared/types/client';
 
 const columns: Column<Client>[] = [
   { header: 'Nom', accessor: (c) => `${c.lastName} ${c.firstName}` },
   { header: 'Telephone', accessor: 'phone' },
   { header: 'Email', accessor: 'email' },
+  { header: 'Derniere visite', accessor: (c) => (c.lastVisitAt ? formatDate(c.lastVisitAt) : '-') },
+  { header: 'Visites', accessor: 'visitCount' },
+  { header: 'Depense totale', accessor: (c) => formatPrice(c.lifetimeSpend) },
   {
     header: 'Notes',
     accessor: (c) => c.notes && c.notes.length > 40 ? c.notes.substring(0, 40) + '...' : c.notes,
@@ -18,10 +23,19 @@ const columns: Column<Client>[] = [
 
 export default function ClientsPage() {
   const [search, setSearch] = useState('');
+  const [sort, setSort] = useState<ClientSort>('name');
   const debouncedSearch = useDebounce(search, 300);
-  const { data: clients = [], isLoading } = useClients(debouncedSearch);
+  const isSearching = debouncedSearch.trim() !== '';
+  const searchQuery = useClients(debouncedSearch, isSearching);
+  const directory = useClientDirectory(sort, !isSearching);
+  const clients = isSearching
+    ? searchQuery.data ?? []
+    : directory.data?.pages.flatMap((p) => p.items) ?? [];
+  const isLoading = isSearching ? searchQuery.isLoading : directory.isLoading;
   const createMutation = useCreateClient();
   const updateMutation = useUpdateClient();
+  const importMutation = useImportClients();
+  const fileInput = useRef<HTMLInputElement>(null);
 
   const [isCreateOpen, setIsCreateOpen] = useState(false);
   const [editingClient, setEditingClient] = useState<Client | null>(null);
@@ -41,6 +55,12 @@ export default function ClientsPage() {
     });
   };
 
+  const handleImport = (e: ChangeEvent<HTMLInputElement>) => {
+    const file = e.target.files?.[0];
+    e.target.value = '';
+    if (file) importMutation.mutate(file);
+  };
+
   const handleUpdate = (e: FormEvent<HTMLFormElement>) => {
     e.preventDefault();
     if (!editingClient) return;
@@ -62,21 +82,44 @@ export default function ClientsPage() {
     <div className="space-y-6">
       <div className="flex items-center justify-between">
         <h2 className="text-xl font-semibold text-gray-900">Clients</h2>
-        <button
-          onClick={() => setIsCreateOpen(true)}
-          className="rounded-md bg-blue-600 px-4 py-2 text-sm font-medium text-white hover:bg-blue-700"
-        >
-          Nouveau client
-        </button>
+        <div className="flex gap-3">
+          <input ref={fileInput} type="file" accept=".csv,text/csv" onChange={handleImport} className="hidden" />
+          <button
+            onClick={() => fileInput.current?.click()}
+            disabled={importMutation.isPending}
+            className="rounded-md border border-gray-300 px-4 py-2 text-sm text-gray-700 hover:bg-gray-50 disabled:opacity-50"
+          >
+            {importMutation.isPending ? 'Import...' : 'Importer CSV'}
+          </button>
+          <button
+            onClick={() => setIsCreateOpen(true)}
+            className="rounded-md bg-blue-600 px-4 py-2 text-sm font-medium text-white hover:bg-blue-700"
+          >
+            Nouveau client
+          </button>
+        </div>
       </div>
 
-      <input
-        type="text"
-        value={search}
-        onChange={(e) => setSearch(e.target.value)}
-        placeholder="Rechercher par nom..."
-        className="w-full max-w-sm rounded-md border border-gray-300 px-3 py-2 text-sm shadow-sm focus:border-blue-500 focus:outline-none focus:ring-1 focus:ring-blue-500"
-      />
+      <div className="flex flex-wrap gap-3">
+        <input
+          type="text"
+          value={search}
+          onChange={(e) => setSearch(e.target.value)}
+          placeholder="Rechercher par nom..."
+          className="w-full max-w-sm rounded-md border border-gray-300 px-3 py-2 text-sm shadow-sm focus:border-blue-500 focus:outline-none focus:ring-1 focus:ring-blue-500"
+        />
+        <select
+          value={sort}
+          onChange={(e) => setSort(e.target.value as ClientSort)}
+          disabled={isSearching}
+          className="rounded-md border border-gray-300 px-3 py-2 text-sm shadow-sm focus:border-blue-500 focus:outline-none focus:ring-1 focus:ring-blue-500 disabled:opacity-50"
+        >
+          <option value="name">Trier par nom</option>
+          <option value="last_visit">Derniere visite</option>
+          <option value="visit_count">Nombre de visites</option>
+          <option value="lifetime_spend">Depense totale</option>
+        </select>
+      </div>
 
       <DataTable<Client>
         columns={columns}
@@ -94,6 +137,18 @@ export default function ClientsPage() {
         )}
       />
 
+      {!isSearching && directory.hasNextPage && (
+        <div className="flex justify-center">
+          <button
+            onClick={() => void directory.fetchNextPage()}
+            disabled={directory.isFetchingNextPage}
+            className="rounded-md border border-gray-300 px-4 py-2 text-sm text-gray-700 hover:bg-gray-50 disabled:opacity-50"
+          >
+            {directory.isFetchingNextPage ? 'Chargement...' : 'Charger plus'}
+          </button>
+        </div>
+      )}
+
       {/* Create Modal */}
       <Modal isOpen={isCreateOpen} onClose={() => setIsCreateOpen(false)} title="Nouveau client">
         <form onSubmit={handleCreate} className="space-y-4">
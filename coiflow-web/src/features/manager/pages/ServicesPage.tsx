@@ -1,10 +1,10 @@
 import { useState, type FormEvent } from 'react';
-import { useServices, useCreateService, useUpdateService, useDeleteService } from '@/features/manager/hooks/useServices';
+import { useServices, useCreateService, useUpdateService, useDeleteService, useBulkUpdateServices } from '@/features/manager/hooks/useServices';
 import { DataTable } from '@/shared/components/DataTable';
 import { Modal } from '@/shared/components/Modal';
 import { formatPrice, formatDuration } from '@/shared/utils/formatters';
 import type { Column } from '@/shared/components/DataTable';
-import type { ServiceItem, CreateServicePayload, UpdateServicePayload } from '@/shared/types/service';
+import type { ServiceItem, BulkUpdateServicesPayload, CreateServicePayload, UpdateServicePayload } from '@/shared/types/service';
 
 const columns: Column<ServiceItem>[] = [
   { header: 'Nom', accessor: 'name' },
@@ -17,9 +17,11 @@ export default function ServicesPage() {
   const createMutation = useCreateService();
   const updateMutation = useUpdateService();
   const deleteMutation = useDeleteService();
+  const bulkMutation = useBulkUpdateServices();
 
   const [isCreateOpen, setIsCreateOpen] = useState(false);
   const [editingService, setEditingService] = useState<ServiceItem | null>(null);
+  const [isBulkOpen, setIsBulkOpen] = useState(false);
 
   const handleCreate = (e: FormEvent<HTMLFormElement>) => {
     e.preventDefault();
@@ -34,6 +36,21 @@ export default function ServicesPage() {
     });
   };
 
+  const handleBulkUpdate = (e: FormEvent<HTMLFormElement>) => {
+    e.preventDefault();
+    const form = new FormData(e.currentTarget);
+    const priceChange = Number(form.get('priceChange') || 0);
+    const durationChange = Number(form.get('durationChange') || 0);
+    const payload: BulkUpdateServicesPayload = {
+      priceMode: form.get('priceMode') as BulkUpdateServicesPayload['priceMode'],
+      priceChange: priceChange || undefined,
+      durationChange: durationChange || undefined,
+    };
+    bulkMutation.mutate(payload, {
+      onSuccess: () => setIsBulkOpen(false),
+    });
+  };
+
   const handleUpdate = (e: FormEvent<HTMLFormElement>) => {
     e.preventDefault();
     if (!editingService) return;
@@ -53,12 +70,20 @@ export default function ServicesPage() {
     <div className="space-y-6">
       <div className="flex items-center justify-between">
         <h2 className="text-xl font-semibold text-gray-900">Prestations</h2>
-        <button
-          onClick={() => setIsCreateOpen(true)}
-          className="rounded-md bg-blue-600 px-4 py-2 text-sm font-medium text-white hover:bg-blue-700"
-        >
-          Nouvelle prestation
-        </button>
+        <div className="flex gap-3">
+          <button
+            onClick={() => setIsBulkOpen(true)}
+            className="rounded-md border border-gray-300 px-4 py-2 text-sm text-gray-700 hover:bg-gray-50"
+          >
+            Ajuster les tarifs
+          </button>
+          <button
+            onClick={() => setIsCreateOpen(true)}
+            className="rounded-md bg-blue-600 px-4 py-2 text-sm font-medium text-white hover:bg-blue-700"
+          >
+            Nouvelle prestation
+          </button>
+        </div>
       </div>
 
       <DataTable<ServiceItem>
@@ -124,6 +149,29 @@ export default function ServicesPage() {
           </form>
         )}
       </Modal>
+
+      {/* Bulk Update Modal */}
+      <Modal isOpen={isBulkOpen} onClose={() => setIsBulkOpen(false)} title="Ajuster toutes les prestations">
+        <form onSubmit={handleBulkUpdate} className="space-y-4">
+          <div className="grid grid-cols-2 gap-3">
+            <select name="priceMode" defaultValue="PERCENTAGE" className="rounded-md border border-gray-300 px-3 py-2 text-sm focus:border-blue-500 focus:outline-none focus:ring-1 focus:ring-blue-500">
+              <option value="PERCENTAGE">Prix en %</option>
+              <option value="ABSOLUTE">Prix en montant</option>
+            </select>
+            <input name="priceChange" type="number" step="0.01" placeholder="Variation du prix (ex: 5 ou -2)" className="rounded-md border border-gray-300 px-3 py-2 text-sm focus:border-blue-500 focus:outline-none focus:ring-1 focus:ring-blue-500" />
+          </div>
+          <input name="durationChange" type="number" step="5" placeholder="Variation de duree (minutes)" className="w-full rounded-md border border-gray-300 px-3 py-2 text-sm focus:border-blue-500 focus:outline-none focus:ring-1 focus:ring-blue-500" />
+          <p className="text-xs text-gray-500">Les rendez-vous existants conservent leur prix.</p>
+          <div className="flex justify-end gap-3 pt-2">
+            <button type="button" onClick={() => setIsBulkOpen(false)} className="rounded-md border border-gray-300 px-4 py-2 text-sm text-gray-700 hover:bg-gray-50">
+              Annuler
+            </button>
+            <button type="submit" disabled={bulkMutation.isPending} className="rounded-md bg-blue-600 px-4 py-2 text-sm font-medium text-white hover:bg-blue-700 disabled:opacity-50">
+              {bulkMutation.isPending ? 'Application...' : 'Appliquer'}
+            </button>
+          </div>
+        </form>
+      </Modal>
     </div>
   );
 }
@@ -1,6 +1,6 @@
 import axiosClient from '@/shared/api/axiosClient';
 import { API_ENDPOINTS } from '@/config/api';
-import type { Client, CreateClientPayload, UpdateClientPayload } from '@/shared/types/client';
+import type { Client, ClientImportResult, ClientPage, ClientSort, CreateClientPayload, UpdateClientPayload } from '@/shared/types/client';
 
 export const ClientService = {
   async getAll(search?: string): Promise<Client[]> {
@@ -10,11 +10,27 @@ export const ClientService = {
     return response.data;
   },
 
+  async getDirectory(sort: ClientSort, cursor?: string): Promise<ClientPage> {
+    const response = await axiosClient.get<ClientPage>(`${API_ENDPOINTS.CLIENTS}/directory`, {
+      params: cursor ? { sort, cursor } : { sort },
+    });
+    return response.data;
+  },
+
   async create(payload: CreateClientPayload): Promise<Client> {
     const response = await axiosClient.post<Client>(API_ENDPOINTS.CLIENTS, payload);
     return response.data;
   },
 
+  async importCsv(file: File): Promise<ClientImportResult> {
+    const form = new FormData();
+    form.append('file', file);
+    const response = await axiosClient.post<ClientImportResult>(`${API_ENDPOINTS.CLIENTS}/import`, form, {
+      headers: { 'Content-Type': 'multipart/form-data' },
+    });
+    return response.data;
+  },
+
   async update(id: string, payload: UpdateClientPayload): Promise<Client> {
     const response = await axiosClient.put<Client>(`${API_ENDPOINTS.CLIENTS}/${id}`, payload);
     return response.data;
@@ -1,6 +1,6 @@
 import axiosClient from '@/shared/api/axiosClient';
 import { API_ENDPOINTS } from '@/config/api';
-import type { DashboardStats, DailyRevenue } from '@/shared/types/dashboard';
+import type { DashboardStats, DashboardOverview, DailyRevenue, RevenueGranularity } from '@/shared/types/dashboard';
 
 export const DashboardService = {
   async getStats(): Promise<DashboardStats> {
@@ -8,9 +8,14 @@ export const DashboardService = {
     return response.data;
   },
 
-  async getRevenue(start: string, end: string): Promise<DailyRevenue[]> {
+  async getOverview(): Promise<DashboardOverview> {
+    const response = await axiosClient.get<DashboardOverview>(API_ENDPOINTS.DASHBOARD.OVERVIEW);
+    return response.data;
+  },
+
+  async getRevenue(start: string, end: string, granularity: RevenueGranularity = 'day'): Promise<DailyRevenue[]> {
     const response = await axiosClient.get<DailyRevenue[]>(API_ENDPOINTS.DASHBOARD.REVENUE, {
-      params: { start, end },
+      params: { start, end, granularity },
     });
     return response.data;
   },
@@ -1,10 +1,17 @@
 import axiosClient from '@/shared/api/axiosClient';
 import { API_ENDPOINTS } from '@/config/api';
-import type { Salon, CreateSalonPayload, UpdateSalonPayload } from '@/shared/types/salon';
+import type { Salon, SalonPage, SalonQuery, CreateSalonPayload, UpdateSalonPayload } from '@/shared/types/salon';
 
 export const SalonService = {
-  async getAll(): Promise<Salon[]> {
-    const response = await axiosClient.get<Salon[]>(API_ENDPOINTS.ADMIN.SALONS);
+  async getAll(query: SalonQuery): Promise<SalonPage> {
+    const response = await axiosClient.get<SalonPage>(API_ENDPOINTS.ADMIN.SALONS, {
+      params: {
+        page: query.page,
+        size: query.size,
+        search: query.search || undefined,
+        active: query.active,
+      },
+    });
     return response.data;
   },
 
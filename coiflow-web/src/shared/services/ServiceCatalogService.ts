@@ -1,6 +1,6 @@
 import axiosClient from '@/shared/api/axiosClient';
 import { API_ENDPOINTS } from '@/config/api';
-import type { ServiceItem, CreateServicePayload, UpdateServicePayload } from '@/shared/types/service';
+import type { ServiceItem, BulkUpdateServicesPayload, CreateServicePayload, UpdateServicePayload } from '@/shared/types/service';
 
 export const ServiceCatalogService = {
   async getAll(): Promise<ServiceItem[]> {
@@ -18,6 +18,11 @@ export const ServiceCatalogService = {
     return response.data;
   },
 
+  async bulkUpdate(payload: BulkUpdateServicesPayload): Promise<ServiceItem[]> {
+    const response = await axiosClient.patch<ServiceItem[]>(API_ENDPOINTS.SERVICES, payload);
+    return response.data;
+  },
+
   async remove(id: string): Promise<void> {
     await axiosClient.delete(`${API_ENDPOINTS.SERVICES}/${id}`);
   },
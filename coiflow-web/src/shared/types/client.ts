@@ -6,6 +6,32 @@ export interface Client {
   email: string | null;
   notes: string | null;
   createdAt: string;
+  lastVisitAt: string | null;
+  visitCount: number;
+  lifetimeSpend: number;
+}
+
+export type ClientSort = 'name' | 'last_visit' | 'visit_count' | 'lifetime_spend';
+
+export interface ClientPage {
+  items: Client[];
+  nextCursor: string | null;
+}
+
+export interface ClientImportError {
+  line: number;
+  message: string;
+}
+
+export interface ClientImportResult {
+  running: boolean;
+  processedRows: number;
+  importedCount: number;
+  duplicateCount: number;
+  rejectedCount: number;
+  errors: ClientImportError[];
+  errorsTruncated: boolean;
+  startedAt: string;
 }
 
 export interface CreateClientPayload {
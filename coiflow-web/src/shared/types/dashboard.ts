@@ -10,3 +10,27 @@ export interface DailyRevenue {
   revenue: number;
   transactionCount: number;
 }
+
+export type RevenueGranularity = 'day' | 'week' | 'month';
+
+export interface HourlyRevenue {
+  hour: number;
+  revenue: number;
+  cumulativeRevenue: number;
+  transactionCount: number;
+}
+
+export interface UpcomingAppointment {
+  id: string;
+  startTime: string;
+  endTime: string;
+  barberName: string;
+  clientName: string | null;
+}
+
+export interface DashboardOverview {
+  stats: DashboardStats;
+  revenueCurveToday: HourlyRevenue[];
+  toCashCount: number;
+  upcomingAppointments: UpcomingAppointment[];
+}
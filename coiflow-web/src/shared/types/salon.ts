@@ -5,11 +5,27 @@ export interface Salon {
   phone: string | null;
   email: string | null;
   active: boolean;
+  timeZone: string;
   managerId: string | null;
   managerName: string | null;
   createdAt: string;
 }
 
+export interface SalonPage {
+  items: Salon[];
+  page: number;
+  size: number;
+  totalElements: number;
+  totalPages: number;
+}
+
+export interface SalonQuery {
+  search?: string;
+  active?: boolean;
+  page: number;
+  size?: number;
+}
+
 export interface CreateSalonPayload {
   name: string;
   address?: string;
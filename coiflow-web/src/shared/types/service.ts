@@ -18,3 +18,10 @@ export interface UpdateServicePayload {
   durationMinutes: number;
   price: number;
 }
+
+export interface BulkUpdateServicesPayload {
+  serviceIds?: string[];
+  priceMode?: 'PERCENTAGE' | 'ABSOLUTE';
+  priceChange?: number;
+  durationChange?: number;
+}